@@ -0,0 +1,18 @@
+package com.api.rest.cds;
+
+import com.api.rest.PruebasUnitariasSpringBootApplication;
+import org.springframework.boot.SpringApplication;
+
+/**
+ * Corrida de entrenamiento del perfil maven "cds": arranca la aplicacion completa y la cierra al terminar el arranque,
+ * para que -XX:ArchiveClassesAtExit vuelque las clases cargadas. Solo se compila con -Pcds.
+ **/
+public class CdsTrainingRun {
+
+	public static void main(String[] args) {
+		SpringApplication application = new SpringApplication(PruebasUnitariasSpringBootApplication.class);
+		// el inicializador AOT se busca por la clase principal, no por este lanzador
+		application.setMainApplicationClass(PruebasUnitariasSpringBootApplication.class);
+		System.exit(SpringApplication.exit(application.run(args)));
+	}
+}
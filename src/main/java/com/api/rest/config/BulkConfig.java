@@ -0,0 +1,20 @@
+package com.api.rest.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class BulkConfig {
+
+    // un solo hilo: dos operaciones masivas a la vez solo competirian por los mismos bloqueos
+    @Bean
+    public ThreadPoolTaskExecutor bulkExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("bulk-");
+        return executor;
+    }
+}
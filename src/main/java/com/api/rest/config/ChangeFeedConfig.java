@@ -0,0 +1,23 @@
+package com.api.rest.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ChangeFeedConfig {
+
+    // sin cola: cada cliente que drena toma su propio hilo (a lo sumo uno por cliente), asi un envio bloqueado no
+    // retrasa al resto; pasado el maximo el cliente nuevo se descarta en vez de esperar
+    @Bean
+    public ThreadPoolTaskExecutor changeFeedExecutor(@Value("${app.changes.drain-threads:256}") int hilos) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(hilos);
+        executor.setQueueCapacity(0);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("change-feed-");
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.api.rest.config;
+
+import com.api.rest.idempotencia.IdempotencyFilter;
+import com.api.rest.idempotencia.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(@Value("${app.idempotency.max-entries:10000}") int maxEntradas,
+                                             @Value("${app.idempotency.ttl:PT24H}") Duration ttl) {
+        return new IdempotencyStore(maxEntradas, ttl, Clock.systemUTC());
+    }
+
+    // el filtro descarta /import y /snapshot: la importacion CSV no se bufferiza en memoria
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+                                                                       @Value("${app.idempotency.lock-timeout:PT10S}") Duration esperaMaxima,
+                                                                       @Value("${app.idempotency.max-body-size:1MB}") DataSize maxCuerpo) {
+        FilterRegistrationBean<IdempotencyFilter> registro = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, esperaMaxima, Math.toIntExact(maxCuerpo.toBytes())));
+        registro.addUrlPatterns("/api/empleados", "/api/empleados/*");
+        return registro;
+    }
+}
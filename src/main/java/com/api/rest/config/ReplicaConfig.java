@@ -0,0 +1,85 @@
+package com.api.rest.config;
+
+import com.api.rest.model.SecuenciasEnCurso;
+import com.api.rest.replica.EmpleadoReplicator;
+import com.api.rest.replica.ReadYourWritesFilter;
+import com.api.rest.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Separacion lectura/escritura, activa con app.replica.enabled=true: la primaria usa spring.datasource.* y la
+ * replica app.replica.* (url y credenciales; su pool no lee spring.datasource.hikari.* y queda con los valores por
+ * defecto de Hikari). El DataSource que ven JPA y JdbcTemplate es el proxy lazy sobre el routing.
+ **/
+@Configuration
+@ConditionalOnProperty(name = "app.replica.enabled", havingValue = "true")
+public class ReplicaConfig {
+
+    // mismo prefijo que el DataSource de Boot, para que spring.datasource.hikari.* siga aplicando a la primaria
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primaria");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource(@Value("${app.replica.url}") String url,
+                                              @Value("${spring.datasource.username}") String usuario,
+                                              @Value("${spring.datasource.password}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(usuario).password(password).build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    // SecuenciasEnCurso depende del DataSource de routing, que depende del replicador: se resuelve en cada pasada
+    @Bean(destroyMethod = "close")
+    public EmpleadoReplicator empleadoReplicator(@Qualifier("primaryDataSource") DataSource primaria,
+                                                 @Qualifier("replicaDataSource") DataSource replica,
+                                                 ObjectProvider<SecuenciasEnCurso> secuenciasEnCurso,
+                                                 @Value("${app.replica.poll-ms:200}") long intervaloMs,
+                                                 @Value("${app.replica.max-lag-ms:1000}") long maxLagMs) {
+        return new EmpleadoReplicator(primaria, replica, () -> secuenciasEnCurso.getObject().limiteSeguro(), intervaloMs, maxLagMs);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaria,
+                                                             @Qualifier("replicaDataSource") DataSource replica,
+                                                             EmpleadoReplicator replicator) {
+        return new ReplicaRoutingDataSource(primaria, replica, replicator);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${app.replica.sticky-ms:2000}") long stickyMs) {
+        return new ReadYourWritesFilter(stickyMs);
+    }
+
+    // el esquema de la primaria lo crea Hibernate durante el arranque, la replicacion empieza despues
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarReplicacion(ApplicationReadyEvent event) {
+        event.getApplicationContext().getBean(EmpleadoReplicator.class).iniciar();
+    }
+}
@@ -0,0 +1,52 @@
+package com.api.rest.config;
+
+import com.api.rest.model.repository.shard.ShardedEmpleadoRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Shards de empleados, activos con app.sharding.enabled=true. Los DataSource de cada shard no se registran como
+ * beans para no interferir con el DataSource principal que configura Spring Boot.
+ **/
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardedEmpleadoRepository shardedEmpleadoRepository(@Value("${app.sharding.count:4}") int cantidad,
+                                                               @Value("${app.sharding.url-pattern}") String urlPattern,
+                                                               @Value("${app.sharding.pool-size:4}") int poolSize,
+                                                               @Value("${spring.datasource.username}") String usuario,
+                                                               @Value("${spring.datasource.password}") String password) {
+        List<DataSource> dataSources = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("shard-" + i);
+            config.setJdbcUrl(String.format(urlPattern, i));
+            config.setUsername(usuario);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            dataSources.add(new HikariDataSource(config));
+        }
+        return new ShardedEmpleadoRepository(dataSources,
+                Executors.newFixedThreadPool(cantidad, new CustomizableThreadFactory("shard-scatter-")));
+    }
+
+    // reservas de email que dejo un borrado o cambio de email con la liberacion fallida en una ejecucion anterior
+    @EventListener(ApplicationReadyEvent.class)
+    public void repararEmails(ApplicationReadyEvent event) {
+        event.getApplicationContext().getBean(ShardedEmpleadoRepository.class).repararEmails();
+    }
+}
@@ -0,0 +1,23 @@
+package com.api.rest.config;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Boot deja de crear su applicationTaskExecutor en cuanto hay otro Executor en el contexto (importExecutor,
+ * changeFeedExecutor, bulkExecutor). Se declara aqui igual que TaskExecutionAutoConfiguration, con spring.task.execution.*,
+ * para que @Async y el soporte asincrono de MVC no terminen en SimpleAsyncTaskExecutor ni en un pool dedicado.
+ **/
+@Configuration
+public class TaskExecutorConfig {
+
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
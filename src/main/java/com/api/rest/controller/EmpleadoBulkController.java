@@ -0,0 +1,47 @@
+package com.api.rest.controller;
+
+import com.api.rest.model.BulkJob;
+import com.api.rest.model.RenombradoApellido;
+import com.api.rest.service.EmpleadoBulkService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/empleados/bulk")
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class EmpleadoBulkController {
+    @Autowired
+    private EmpleadoBulkService empleadoBulkService;
+
+    @PostMapping("/eliminar-por-dominio")
+    public ResponseEntity<BulkJob> eliminarPorDominio(@RequestParam("dominio") String dominio) {
+        if (dominio.isBlank() || dominio.contains("@")) {
+            return ResponseEntity.badRequest().build();
+        }
+        return new ResponseEntity<>(empleadoBulkService.eliminarPorDominio(dominio), HttpStatus.ACCEPTED);
+    }
+
+    @PostMapping("/renombrar-apellido")
+    public ResponseEntity<BulkJob> renombrarApellido(@RequestBody RenombradoApellido renombrado) {
+        if (renombrado.ids() == null || renombrado.ids().isEmpty() || renombrado.ids().contains(null)
+                || renombrado.apellido() == null || renombrado.apellido().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return new ResponseEntity<>(empleadoBulkService.renombrarApellido(renombrado.ids(), renombrado.apellido()), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping
+    public List<BulkJob> listarOperaciones() {
+        return empleadoBulkService.getAllJobs();
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BulkJob> obtenerOperacion(@PathVariable("jobId") String jobId) {
+        return empleadoBulkService.getJobById(jobId).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,44 @@
+package com.api.rest.controller;
+
+import com.api.rest.service.EmpleadoChangeFeed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/empleados")
+public class EmpleadoChangesController {
+    @Autowired
+    private EmpleadoChangeFeed empleadoChangeFeed;
+
+    @Value("${app.changes.timeout-ms:1800000}")
+    private long timeout;
+
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter cambios(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        EmpleadoChangeFeed.Cliente cliente = empleadoChangeFeed.suscribir(new EmpleadoChangeFeed.Suscriptor() {
+            @Override
+            public void enviar(EmpleadoChangeFeed.Evento evento) throws Exception {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(evento.seq()))
+                        .name(evento.cambio().tipo().name().toLowerCase())
+                        .data(evento.cambio(), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void cerrar() {
+                emitter.complete();
+            }
+        }, lastEventId);
+        emitter.onCompletion(() -> empleadoChangeFeed.desuscribir(cliente));
+        emitter.onTimeout(() -> empleadoChangeFeed.desuscribir(cliente));
+        emitter.onError(e -> empleadoChangeFeed.desuscribir(cliente));
+        return emitter;
+    }
+}
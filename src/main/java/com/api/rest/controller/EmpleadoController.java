@@ -1,13 +1,16 @@
 package com.api.rest.controller;
 
 import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoFiltro;
 import com.api.rest.service.EmpleadoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/empleados")
@@ -22,18 +25,33 @@ public class EmpleadoController {
         return empleadoService.saveEmpleado(empleado);
     }
 
-    @ResponseStatus(HttpStatus.OK)
     @GetMapping
-    public List<Empleado> listarEmpleados() {
-        return empleadoService.getAllEmpleado();
+    public ResponseEntity<List<Empleado>> listarEmpleados(@RequestParam(value = "nombre", required = false) String nombre,
+                                                          @RequestParam(value = "apellido", required = false) String apellido,
+                                                          @RequestParam(value = "dominio", required = false) String dominio,
+                                                          @RequestParam(value = "sort", required = false) String campo,
+                                                          @RequestParam(value = "dir", defaultValue = "asc") String direccion) {
+        if (campo != null && !EmpleadoFiltro.CAMPOS_ORDENABLES.contains(campo)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<Sort.Direction> sentido = Sort.Direction.fromOptionalString(direccion);
+        if (sentido.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        Sort orden = campo == null ? Sort.unsorted() : Sort.by(sentido.get(), campo);
+        EmpleadoFiltro filtro = new EmpleadoFiltro(nombre, apellido, dominio, orden);
+        if (filtro.vacio()) {
+            return ResponseEntity.ok(empleadoService.getAllEmpleado());
+        }
+        return ResponseEntity.ok(empleadoService.buscarEmpleados(filtro));
     }
 
-    @GetMapping("/{id}")
+    @GetMapping("/{id:\\d+}")
     public ResponseEntity<Empleado> obtenerEmpleadoPorId(@PathVariable("id") Long empleadoId) {
         return empleadoService.getEmpleadoById(empleadoId).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    @PutMapping("/{id}")
+    @PutMapping("/{id:\\d+}")
     public ResponseEntity<Empleado> actualizarEmpleado(@PathVariable("id") Long id, @RequestBody Empleado empleado) {
         return empleadoService.getEmpleadoById(id)
                 .map(empleadoGuardado -> {
@@ -46,7 +64,7 @@ public class EmpleadoController {
 
     }
 
-    @DeleteMapping("/{id}")
+    @DeleteMapping("/{id:\\d+}")
     public ResponseEntity<String> deleteEmpleado(@PathVariable("id") Long id) {
         empleadoService.deleteEmpleado(id);
         return new ResponseEntity<String>("Empleado eliminado exitosamente", HttpStatus.OK);
@@ -0,0 +1,38 @@
+package com.api.rest.controller;
+
+import com.api.rest.model.EmpleadoDelta;
+import com.api.rest.service.EmpleadoDeltaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Sincronizacion incremental por secuencia de cambio. Con sharding no hay una secuencia comun, asi que el endpoint no
+ * se publica y responde 404.
+ **/
+@RestController
+@RequestMapping("/api/empleados")
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class EmpleadoDeltaController {
+    @Autowired
+    private EmpleadoDeltaService empleadoDeltaService;
+
+    @GetMapping("/delta")
+    public ResponseEntity<EmpleadoDelta> sincronizarEmpleados(@RequestParam(value = "since", defaultValue = "0") String token,
+                                                              @RequestParam(value = "limit", defaultValue = "1000") int limite) {
+        long desde;
+        try {
+            desde = Long.parseLong(token);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (desde < 0 || limite < 1 || limite > 10000) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(empleadoDeltaService.getDelta(desde, limite));
+    }
+}
@@ -0,0 +1,44 @@
+package com.api.rest.controller;
+
+import com.api.rest.model.ImportJob;
+import com.api.rest.service.EmpleadoImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/empleados/import")
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class EmpleadoImportController {
+    @Autowired
+    private EmpleadoImportService empleadoImportService;
+
+    // sincrono: la respuesta llega con la importacion terminada
+    @PostMapping(params = "!path")
+    public ImportJob importarCsv(InputStream csv) {
+        return empleadoImportService.importar(csv);
+    }
+
+    @PostMapping(params = "path")
+    public ResponseEntity<ImportJob> importarArchivo(@RequestParam("path") String path) {
+        return empleadoImportService.importarArchivo(Path.of(path))
+                .map(job -> new ResponseEntity<>(job, HttpStatus.ACCEPTED))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    public List<ImportJob> listarImportaciones() {
+        return empleadoImportService.getAllJobs();
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJob> obtenerImportacion(@PathVariable("jobId") String jobId) {
+        return empleadoImportService.getJobById(jobId).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
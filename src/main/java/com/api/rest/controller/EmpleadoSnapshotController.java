@@ -0,0 +1,36 @@
+package com.api.rest.controller;
+
+import com.api.rest.snapshot.EmpleadoSnapshot;
+import com.api.rest.snapshot.EmpleadoSnapshotEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/empleados/snapshot")
+@ConditionalOnExpression("${app.snapshot.enabled:false} and !${app.sharding.enabled:false}")
+public class EmpleadoSnapshotController {
+    @Autowired
+    private EmpleadoSnapshotEngine empleadoSnapshotEngine;
+
+    @GetMapping
+    public ResponseEntity<EmpleadoSnapshot.MemoriaReporte> memoria() {
+        EmpleadoSnapshot foto = empleadoSnapshotEngine.actual();
+        return foto == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(foto.memoria());
+    }
+
+    @GetMapping("/verificacion")
+    public EmpleadoSnapshotEngine.Verificacion verificar() {
+        return empleadoSnapshotEngine.verificar();
+    }
+
+    @PostMapping("/recarga")
+    public ResponseEntity<EmpleadoSnapshot.MemoriaReporte> recargar() {
+        empleadoSnapshotEngine.recargar();
+        return ResponseEntity.ok(empleadoSnapshotEngine.actual().memoria());
+    }
+}
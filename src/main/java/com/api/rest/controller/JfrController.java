@@ -0,0 +1,63 @@
+package com.api.rest.controller;
+
+import com.api.rest.jfr.JfrRecordingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+
+@RestController
+@RequestMapping("/api/admin/jfr")
+@ConditionalOnProperty(name = "app.jfr.admin.enabled", havingValue = "true")
+public class JfrController {
+    @Autowired
+    private JfrRecordingService jfrRecordingService;
+
+    @PostMapping("/start")
+    public ResponseEntity<JfrRecordingService.Estado> iniciar(@RequestParam(value = "duracion", defaultValue = "PT1M") String duracion,
+                                                              @RequestParam(value = "configuracion", defaultValue = "default") String configuracion) throws IOException {
+        Duration tiempo;
+        try {
+            tiempo = Duration.parse(duracion);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (tiempo.isNegative() || tiempo.isZero() || !(configuracion.equals("default") || configuracion.equals("profile"))) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return jfrRecordingService.iniciar(tiempo, configuracion)
+                    .map(estado -> ResponseEntity.status(HttpStatus.CREATED).body(estado))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+        } catch (ParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<JfrRecordingService.Estado> estado() {
+        return jfrRecordingService.estado().map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<byte[]> detener() throws IOException {
+        return jfrRecordingService.detener()
+                .map(fichero -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"empleados.jfr\"")
+                        .body(fichero))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
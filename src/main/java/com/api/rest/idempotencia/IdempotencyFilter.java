@@ -0,0 +1,208 @@
+package com.api.rest.idempotencia;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * POST/PUT con cabecera Idempotency-Key: la primera respuesta (status y bytes del cuerpo) se guarda y los reintentos
+ * con la misma clave la reciben tal cual, sin llegar al controller. Los duplicados concurrentes esperan al primero
+ * con un lock por clave. Reusar la clave con otro cuerpo responde 422; los 5xx no se guardan para permitir reintentar.
+ * El cuerpo se guarda en memoria para calcular su huella, asi que uno mayor que maxCuerpo responde 413.
+ **/
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String HEADER_REPLAY = "Idempotent-Replayed";
+    private static final int MAX_LONGITUD_CLAVE = 255;
+    private static final Pattern RUTA_EMPLEADO = Pattern.compile("/api/empleados(/\\d+)?/?");
+
+    private final IdempotencyStore store;
+    private final Duration esperaMaxima;
+    private final int maxCuerpo;
+    private final ConcurrentHashMap<String, LockPorClave> locks = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore store, Duration esperaMaxima, int maxCuerpo) {
+        this.store = store;
+        this.esperaMaxima = esperaMaxima;
+        this.maxCuerpo = maxCuerpo;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        return request.getHeader(HEADER) == null || !(metodo.equals("POST") || metodo.equals("PUT"))
+                || !RUTA_EMPLEADO.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clave = request.getHeader(HEADER);
+        if (clave.isBlank() || clave.length() > MAX_LONGITUD_CLAVE) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Idempotency-Key invalida");
+            return;
+        }
+        if (request.getContentLengthLong() > maxCuerpo) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Cuerpo demasiado grande para Idempotency-Key");
+            return;
+        }
+        // sin Content-Length (chunked) se lee como mucho un byte de mas para detectar el exceso
+        byte[] cuerpo = request.getInputStream().readNBytes(maxCuerpo + 1);
+        if (cuerpo.length > maxCuerpo) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Cuerpo demasiado grande para Idempotency-Key");
+            return;
+        }
+        String claveCompleta = request.getMethod() + " " + request.getRequestURI() + " " + clave;
+        String huella = huella(cuerpo);
+
+        LockPorClave lock = adquirir(claveCompleta);
+        try {
+            if (!lock.tryLock(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                response.sendError(HttpStatus.CONFLICT.value(), "Peticion con la misma Idempotency-Key en curso");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        } finally {
+            if (!lock.isHeldByCurrentThread()) {
+                liberar(claveCompleta);
+            }
+        }
+        try {
+            IdempotencyStore.Respuesta guardada = store.get(claveCompleta);
+            if (guardada != null) {
+                reproducir(guardada, huella, response);
+                return;
+            }
+            ContentCachingResponseWrapper respuesta = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(new CuerpoEnMemoria(request, cuerpo), respuesta);
+            if (respuesta.getStatus() < 500) {
+                store.put(claveCompleta, huella, respuesta.getStatus(), respuesta.getContentType(), respuesta.getContentAsByteArray());
+            }
+            respuesta.copyBodyToResponse();
+        } finally {
+            lock.unlock();
+            liberar(claveCompleta);
+        }
+    }
+
+    /**
+     * El lock de la clave con un usuario mas. Los usuarios solo cambian dentro de compute, asi que el lock no se quita
+     * del mapa mientras alguien lo haya obtenido aunque todavia no este esperando en tryLock.
+     **/
+    private LockPorClave adquirir(String clave) {
+        return locks.compute(clave, (k, actual) -> {
+            LockPorClave lock = actual == null ? new LockPorClave() : actual;
+            lock.usuarios++;
+            return lock;
+        });
+    }
+
+    private void liberar(String clave) {
+        locks.computeIfPresent(clave, (k, lock) -> --lock.usuarios == 0 ? null : lock);
+    }
+
+    private static void reproducir(IdempotencyStore.Respuesta guardada, String huella, HttpServletResponse response)
+            throws IOException {
+        if (!guardada.huella().equals(huella)) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), "Idempotency-Key reutilizada con otro cuerpo");
+            return;
+        }
+        response.setStatus(guardada.status());
+        if (guardada.contentType() != null) {
+            response.setContentType(guardada.contentType());
+        }
+        response.setHeader(HEADER_REPLAY, "true");
+        response.setContentLength(guardada.cuerpo().length);
+        response.getOutputStream().write(guardada.cuerpo());
+    }
+
+    private static String huella(byte[] cuerpo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(cuerpo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class LockPorClave extends ReentrantLock {
+        // peticiones que usan el lock, esperando o dentro; protegido por el compute del mapa
+        private int usuarios;
+    }
+
+    private static class CuerpoEnMemoria extends HttpServletRequestWrapper {
+        private final byte[] cuerpo;
+
+        CuerpoEnMemoria(HttpServletRequest request, byte[] cuerpo) {
+            super(request);
+            this.cuerpo = cuerpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(cuerpo);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // el cuerpo ya esta en memoria: todo esta disponible desde el primer momento
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
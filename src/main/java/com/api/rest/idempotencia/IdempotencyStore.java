@@ -0,0 +1,49 @@
+package com.api.rest.idempotencia;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Respuestas guardadas por Idempotency-Key, en memoria, acotadas por cantidad (se descarta la menos usada) y por TTL.
+ **/
+public class IdempotencyStore {
+
+    public record Respuesta(String huella, int status, String contentType, byte[] cuerpo, long expira) {
+    }
+
+    private final int maxEntradas;
+    private final long ttlMs;
+    private final Clock clock;
+    private final LinkedHashMap<String, Respuesta> respuestas;
+
+    public IdempotencyStore(int maxEntradas, Duration ttl, Clock clock) {
+        this.maxEntradas = maxEntradas;
+        this.ttlMs = ttl.toMillis();
+        this.clock = clock;
+        this.respuestas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Respuesta> eldest) {
+                return size() > IdempotencyStore.this.maxEntradas;
+            }
+        };
+    }
+
+    public synchronized Respuesta get(String clave) {
+        Respuesta respuesta = respuestas.get(clave);
+        if (respuesta != null && respuesta.expira() <= clock.millis()) {
+            respuestas.remove(clave);
+            return null;
+        }
+        return respuesta;
+    }
+
+    public synchronized void put(String clave, String huella, int status, String contentType, byte[] cuerpo) {
+        respuestas.put(clave, new Respuesta(huella, status, contentType, cuerpo, clock.millis() + ttlMs));
+    }
+
+    public synchronized int size() {
+        return respuestas.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.api.rest.jfr;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta por hilo las sentencias que prepara Hibernate, registrado con hibernate.session_factory.statement_inspector.
+ * Los eventos restan el valor antes y despues de la llamada, asi las llamadas anidadas no se pisan.
+ * <p>
+ * Lo que va por JdbcTemplate no pasa por Hibernate y no se cuenta: la secuencia de cambio y las lapidas de
+ * SecuenciaCambioListener, SecuenciasEnCurso, la importacion CSV, las operaciones masivas y el repositorio con
+ * sharding. Con sharding sentenciasSql queda en 0.
+ **/
+public class ContadorSql implements StatementInspector {
+
+    private static final ThreadLocal<long[]> SENTENCIAS = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static long actual() {
+        return SENTENCIAS.get()[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        SENTENCIAS.get()[0]++;
+        return sql;
+    }
+}
@@ -0,0 +1,9 @@
+package com.api.rest.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.api.rest.EmpleadoController")
+@Label("EmpleadoController")
+public class EmpleadoControllerEvent extends EmpleadoEvent {
+}
@@ -0,0 +1,37 @@
+package com.api.rest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Campos comunes de los eventos JFR de empleados. Id 0 y emailHash null indican que la llamada no los tenia.
+ **/
+@Category({"Empleados"})
+@StackTrace(false)
+public abstract class EmpleadoEvent extends Event {
+
+    @Label("Metodo")
+    String metodo;
+
+    @Label("Id")
+    @Description("Id de empleado del parametro id, del Empleado recibido o del devuelto")
+    long id;
+
+    @Label("Email hash")
+    @Description("Primeros 8 bytes del SHA-256 del email, en hexadecimal")
+    String emailHash;
+
+    @Label("Filas")
+    @Description("Empleados devueltos o escritos; un borrado por id cuenta 1")
+    int filas;
+
+    @Label("Sentencias SQL")
+    @Description("Sentencias emitidas por Hibernate en el hilo durante la llamada; no incluye las de JdbcTemplate")
+    long sentenciasSql;
+
+    @Label("Excepcion")
+    String excepcion;
+}
@@ -0,0 +1,128 @@
+package com.api.rest.jfr;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoDelta;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Emite un evento JFR por cada handler de EmpleadoController y cada metodo de EmpleadoService y EmpleadoDeltaService.
+ * Sin una grabacion activa isEnabled() es false y la llamada pasa directa; los campos solo se calculan si el evento se
+ * va a guardar.
+ * El id sale de un parametro que sea de verdad un id de empleado (ver {@link #esId}) o del Empleado recibido o
+ * devuelto; otros Long, como el token de getDelta, no cuentan.
+ **/
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class EmpleadoJfrAspect {
+
+    @Around("execution(public * com.api.rest.controller.EmpleadoController.*(..))")
+    public Object controller(ProceedingJoinPoint joinPoint) throws Throwable {
+        return registrar(new EmpleadoControllerEvent(), joinPoint);
+    }
+
+    @Around("execution(public * com.api.rest.service.EmpleadoService+.*(..))"
+            + " || execution(public * com.api.rest.service.EmpleadoDeltaService+.*(..))")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return registrar(new EmpleadoServiceEvent(), joinPoint);
+    }
+
+    private Object registrar(EmpleadoEvent evento, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!evento.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        long sentenciasAntes = ContadorSql.actual();
+        Object resultado = null;
+        Throwable error = null;
+        evento.begin();
+        try {
+            resultado = joinPoint.proceed();
+            return resultado;
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                completar(evento, joinPoint, resultado, error);
+                evento.sentenciasSql = ContadorSql.actual() - sentenciasAntes;
+                evento.commit();
+            }
+        }
+    }
+
+    private static void completar(EmpleadoEvent evento, ProceedingJoinPoint joinPoint, Object resultado, Throwable error) {
+        evento.metodo = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        evento.excepcion = error == null ? null : error.getClass().getName();
+        Object valor = resultado instanceof ResponseEntity<?> respuesta ? respuesta.getBody() : resultado;
+        valor = valor instanceof Optional<?> opcional ? opcional.orElse(null) : valor;
+
+        Empleado empleado = valor instanceof Empleado e ? e : null;
+        Long id = null;
+        Object[] argumentos = joinPoint.getArgs();
+        Parameter[] parametros = ((MethodSignature) joinPoint.getSignature()).getMethod().getParameters();
+        for (int i = 0; i < argumentos.length; i++) {
+            if (argumentos[i] instanceof Long l && id == null && esId(parametros[i])) {
+                id = l;
+            } else if (argumentos[i] instanceof Empleado e && empleado == null) {
+                empleado = e;
+            }
+        }
+        if (id == null && empleado != null) {
+            id = empleado.getId();
+        }
+        evento.id = id == null ? 0 : id;
+        evento.emailHash = empleado == null || empleado.getEmail() == null ? null : hash(empleado.getEmail());
+
+        if (valor instanceof Collection<?> lista) {
+            evento.filas = lista.size();
+        } else if (valor instanceof EmpleadoDelta delta) {
+            evento.filas = delta.cambios().size() + delta.eliminados().size();
+        } else if (valor instanceof Empleado) {
+            evento.filas = 1;
+        } else if (error == null && id != null && (esVoid(joinPoint) || valor instanceof String)) {
+            // borrado: el service no devuelve nada y el controller solo un mensaje
+            evento.filas = 1;
+        }
+    }
+
+    /**
+     * Parametro de id de empleado: en el controller el @PathVariable "id", en el service el parametro llamado id
+     * (el proyecto compila con -parameters).
+     **/
+    static boolean esId(Parameter parametro) {
+        PathVariable variable = parametro.getAnnotation(PathVariable.class);
+        if (variable != null) {
+            return "id".equals(variable.value()) || "id".equals(variable.name());
+        }
+        return parametro.isNamePresent() && parametro.getName().equals("id");
+    }
+
+    private static boolean esVoid(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature() instanceof MethodSignature firma && firma.getReturnType() == void.class;
+    }
+
+    private static String hash(String email) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(email.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.api.rest.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.api.rest.EmpleadoService")
+@Label("EmpleadoService")
+public class EmpleadoServiceEvent extends EmpleadoEvent {
+}
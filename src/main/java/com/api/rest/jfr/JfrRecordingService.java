@@ -0,0 +1,89 @@
+package com.api.rest.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Una unica grabacion JFR a la vez, acotada en duracion y tamaño; se para sola al cumplir la duracion y el fichero
+ * sigue disponible hasta llamar a detener().
+ **/
+@Service
+@ConditionalOnProperty(name = "app.jfr.admin.enabled", havingValue = "true")
+public class JfrRecordingService {
+
+    public record Estado(long id, String estado, Instant inicio, Duration duracion, long maxBytes) {
+    }
+
+    private final Duration duracionMaxima;
+    private final DataSize tamanoMaximo;
+    private Recording grabacion;
+
+    public JfrRecordingService(@Value("${app.jfr.max-duration:PT5M}") Duration duracionMaxima,
+                               @Value("${app.jfr.max-size:50MB}") DataSize tamanoMaximo) {
+        this.duracionMaxima = duracionMaxima;
+        this.tamanoMaximo = tamanoMaximo;
+    }
+
+    /**
+     * Arranca la grabacion con la configuracion indicada ("default" o "profile"); la duracion se recorta a
+     * app.jfr.max-duration. Vacio si ya hay una grabacion sin recoger.
+     **/
+    public synchronized Optional<Estado> iniciar(Duration duracion, String configuracion) throws IOException, ParseException {
+        if (grabacion != null) {
+            return Optional.empty();
+        }
+        Recording nueva = new Recording(Configuration.getConfiguration(configuracion));
+        nueva.setName("empleados");
+        nueva.enable(EmpleadoControllerEvent.class);
+        nueva.enable(EmpleadoServiceEvent.class);
+        nueva.setToDisk(true);
+        nueva.setMaxSize(tamanoMaximo.toBytes());
+        nueva.setDuration(duracion.compareTo(duracionMaxima) > 0 ? duracionMaxima : duracion);
+        nueva.start();
+        grabacion = nueva;
+        return Optional.of(estado(nueva));
+    }
+
+    public synchronized Optional<Estado> estado() {
+        return Optional.ofNullable(grabacion).map(JfrRecordingService::estado);
+    }
+
+    /**
+     * Para la grabacion si sigue activa y devuelve el contenido del fichero .jfr; vacio si no habia grabacion.
+     **/
+    public synchronized Optional<byte[]> detener() throws IOException {
+        if (grabacion == null) {
+            return Optional.empty();
+        }
+        Path fichero = Files.createTempFile("empleados-", ".jfr");
+        try {
+            if (grabacion.getState() == RecordingState.RUNNING) {
+                grabacion.stop();
+            }
+            grabacion.dump(fichero);
+            return Optional.of(Files.readAllBytes(fichero));
+        } finally {
+            grabacion.close();
+            grabacion = null;
+            Files.deleteIfExists(fichero);
+        }
+    }
+
+    private static Estado estado(Recording recording) {
+        return new Estado(recording.getId(), recording.getState().name(), recording.getStartTime(),
+                recording.getDuration(), recording.getMaxSize());
+    }
+}
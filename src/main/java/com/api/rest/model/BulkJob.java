@@ -0,0 +1,73 @@
+package com.api.rest.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Operacion masiva en segundo plano; el progreso se mide en tramos de ids ya confirmados.
+ **/
+@Getter
+public class BulkJob {
+
+    public enum Estado {EN_COLA, EN_CURSO, COMPLETADO, FALLIDO}
+
+    private final String id = UUID.randomUUID().toString();
+    private final String operacion;
+    private final Instant inicio = Instant.now();
+    private volatile Instant fin;
+    private volatile Estado estado = Estado.EN_COLA;
+    private volatile String mensaje;
+    private volatile long tramosTotales;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong tramosProcesados = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong filasAfectadas = new AtomicLong();
+
+    public BulkJob(String operacion) {
+        this.operacion = operacion;
+    }
+
+    public long getTramosProcesados() {
+        return tramosProcesados.get();
+    }
+
+    public long getFilasAfectadas() {
+        return filasAfectadas.get();
+    }
+
+    // el total puede ser una estimacion (filas insertadas o borradas durante la operacion): en curso no pasa de 99
+    public int getProgreso() {
+        long total = tramosTotales;
+        if (estado == Estado.COMPLETADO) {
+            return 100;
+        }
+        return total == 0 ? 0 : (int) Math.min(99, tramosProcesados.get() * 100 / total);
+    }
+
+    public void iniciar(long tramosTotales) {
+        this.tramosTotales = tramosTotales;
+        estado = Estado.EN_CURSO;
+    }
+
+    public void tramoProcesado(long filas) {
+        filasAfectadas.addAndGet(filas);
+        tramosProcesados.incrementAndGet();
+    }
+
+    public void completar() {
+        tramosTotales = tramosProcesados.get();
+        estado = Estado.COMPLETADO;
+        fin = Instant.now();
+    }
+
+    public void fallar(String mensaje) {
+        this.mensaje = mensaje;
+        estado = Estado.FALLIDO;
+        fin = Instant.now();
+    }
+}
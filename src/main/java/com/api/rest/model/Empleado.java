@@ -1,6 +1,7 @@
 package com.api.rest.model;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,7 +13,14 @@ import lombok.*;
 @Getter
 @Setter
 @Entity
-@Table(name = "empleados")
+@EntityListeners(SecuenciaCambioListener.class)
+@Table(name = "empleados", indexes = {
+        @Index(name = "idx_empleados_email", columnList = "email"),
+        @Index(name = "idx_empleados_secuencia_cambio", columnList = "secuencia_cambio"),
+        @Index(name = "idx_empleados_apellido_nombre", columnList = "apellido, nombre"),
+        @Index(name = "idx_empleados_nombre_apellido", columnList = "nombre, apellido"),
+        @Index(name = "idx_empleados_dominio_apellido", columnList = "email_dominio, apellido")
+})
 public class Empleado {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,4 +33,27 @@ public class Empleado {
     private String apellido;
     @Column(name = "email", nullable = false)
     private String email;
+    @JsonIgnore
+    @Column(name = "secuencia_cambio")
+    private Long secuenciaCambio;
+    @JsonIgnore
+    @Column(name = "email_dominio")
+    private String emailDominio;
+
+    @PrePersist
+    @PreUpdate
+    void asignarDominio() {
+        emailDominio = dominioDe(email);
+    }
+
+    /**
+     * Dominio del email en minusculas, guardado en su propia columna para poder filtrar por indice.
+     **/
+    public static String dominioDe(String email) {
+        if (email == null) {
+            return null;
+        }
+        int arroba = email.lastIndexOf('@');
+        return arroba < 0 ? null : email.substring(arroba + 1).toLowerCase();
+    }
 }
@@ -0,0 +1,37 @@
+package com.api.rest.model;
+
+/**
+ * Cambio sobre la tabla empleados, publicado por EmpleadoService y entregado a los clientes despues del commit.
+ **/
+public record EmpleadoCambio(Tipo tipo, Long id, Empleado empleado) {
+
+    public enum Tipo {CREADO, ACTUALIZADO, ELIMINADO, RESET}
+
+    public static EmpleadoCambio creado(Empleado empleado) {
+        return new EmpleadoCambio(Tipo.CREADO, empleado.getId(), copia(empleado));
+    }
+
+    public static EmpleadoCambio actualizado(Empleado empleado) {
+        return new EmpleadoCambio(Tipo.ACTUALIZADO, empleado.getId(), copia(empleado));
+    }
+
+    public static EmpleadoCambio eliminado(Long id) {
+        return new EmpleadoCambio(Tipo.ELIMINADO, id, null);
+    }
+
+    /**
+     * Indica al cliente que su Last-Event-ID ya no esta en el buffer y debe recargar la lista completa.
+     **/
+    public static EmpleadoCambio reset() {
+        return new EmpleadoCambio(Tipo.RESET, null, null);
+    }
+
+    private static Empleado copia(Empleado empleado) {
+        return Empleado.builder()
+                .id(empleado.getId())
+                .nombre(empleado.getNombre())
+                .apellido(empleado.getApellido())
+                .email(empleado.getEmail())
+                .build();
+    }
+}
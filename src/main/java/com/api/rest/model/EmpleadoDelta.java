@@ -0,0 +1,10 @@
+package com.api.rest.model;
+
+import java.util.List;
+
+/**
+ * Respuesta de la sincronizacion incremental: empleados creados o modificados y ids eliminados desde el token recibido.
+ * El cliente debe enviar el token devuelto en la siguiente llamada; si hayMas es true conviene llamar de nuevo enseguida.
+ **/
+public record EmpleadoDelta(String token, boolean hayMas, List<Empleado> cambios, List<Long> eliminados) {
+}
@@ -0,0 +1,21 @@
+package com.api.rest.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Lapida de un empleado eliminado, para que la sincronizacion incremental pueda informar los borrados.
+ **/
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "empleados_eliminados", indexes = @Index(name = "idx_empleados_eliminados_secuencia", columnList = "secuencia_cambio"))
+public class EmpleadoEliminado {
+    @Id
+    @Column(name = "empleado_id")
+    private Long empleadoId;
+    @Column(name = "secuencia_cambio", nullable = false)
+    private Long secuenciaCambio;
+}
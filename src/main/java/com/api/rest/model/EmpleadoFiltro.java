@@ -0,0 +1,17 @@
+package com.api.rest.model;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Filtros y orden del listado de empleados. Los campos nulos no filtran.
+ **/
+public record EmpleadoFiltro(String nombre, String apellido, String dominio, Sort orden) {
+
+    public static final Set<String> CAMPOS_ORDENABLES = Set.of("id", "nombre", "apellido", "email");
+
+    public boolean vacio() {
+        return nombre == null && apellido == null && dominio == null && orden.isUnsorted();
+    }
+}
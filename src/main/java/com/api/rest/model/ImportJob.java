@@ -0,0 +1,90 @@
+package com.api.rest.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class ImportJob {
+
+    private static final int MAX_ERRORES = 100;
+
+    public enum Estado {EN_CURSO, COMPLETADO, FALLIDO}
+
+    private final String id = UUID.randomUUID().toString();
+    private final String origen;
+    private final Instant inicio = Instant.now();
+    private volatile Instant fin;
+    private volatile Estado estado = Estado.EN_CURSO;
+    private volatile String mensaje;
+    private final List<String> errores = new CopyOnWriteArrayList<>();
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong filasLeidas = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong importadas = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong duplicadas = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong invalidas = new AtomicLong();
+
+    public ImportJob(String origen) {
+        this.origen = origen;
+    }
+
+    public long getFilasLeidas() {
+        return filasLeidas.get();
+    }
+
+    public long getImportadas() {
+        return importadas.get();
+    }
+
+    public long getDuplicadas() {
+        return duplicadas.get();
+    }
+
+    public long getInvalidas() {
+        return invalidas.get();
+    }
+
+    public void filaLeida() {
+        filasLeidas.incrementAndGet();
+    }
+
+    public void sumarImportadas(long cantidad) {
+        importadas.addAndGet(cantidad);
+    }
+
+    public void duplicada(long linea, String email) {
+        duplicadas.incrementAndGet();
+        registrarError("linea " + linea + ": email duplicado " + email);
+    }
+
+    public void invalida(long linea, String motivo) {
+        invalidas.incrementAndGet();
+        registrarError("linea " + linea + ": " + motivo);
+    }
+
+    public void completar() {
+        estado = Estado.COMPLETADO;
+        fin = Instant.now();
+    }
+
+    public void fallar(String mensaje) {
+        this.mensaje = mensaje;
+        estado = Estado.FALLIDO;
+        fin = Instant.now();
+    }
+
+    private void registrarError(String error) {
+        if (errores.size() < MAX_ERRORES) {
+            errores.add(error);
+        }
+    }
+}
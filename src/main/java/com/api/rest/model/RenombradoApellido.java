@@ -0,0 +1,9 @@
+package com.api.rest.model;
+
+import java.util.Set;
+
+/**
+ * Cuerpo de la operacion masiva que asigna el mismo apellido a un conjunto de ids.
+ **/
+public record RenombradoApellido(Set<Long> ids, String apellido) {
+}
@@ -0,0 +1,36 @@
+package com.api.rest.model;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Asigna la secuencia de cambio en cada insert/update de empleados y deja una lapida en cada delete, registrando antes
+ * la transaccion en SecuenciasEnCurso. Hibernate lo instancia a traves del contenedor de beans de Spring, por eso
+ * admite @Autowired.
+ **/
+public class SecuenciaCambioListener {
+
+    public static final String SIGUIENTE_SECUENCIA = "next value for empleados_cambio_seq";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SecuenciasEnCurso secuenciasEnCurso;
+
+    @PrePersist
+    @PreUpdate
+    public void asignarSecuencia(Empleado empleado) {
+        secuenciasEnCurso.registrarEscritura();
+        empleado.setSecuenciaCambio(jdbcTemplate.queryForObject("select " + SIGUIENTE_SECUENCIA, Long.class));
+    }
+
+    @PreRemove
+    public void registrarEliminado(Empleado empleado) {
+        secuenciasEnCurso.registrarEscritura();
+        jdbcTemplate.update("insert into empleados_eliminados (empleado_id, secuencia_cambio) values (?, " + SIGUIENTE_SECUENCIA + ")",
+                empleado.getId());
+    }
+}
@@ -0,0 +1,85 @@
+package com.api.rest.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite seguro para leer por secuencia de cambio. La secuencia se toma antes del commit, asi que las transacciones
+ * confirman fuera de orden: un chunk de importacion con secuencias bajas puede confirmar despues de un PUT con una
+ * secuencia mas alta. Cada transaccion que escribe registra antes una marca de la secuencia; todas sus filas quedan
+ * por encima de esa marca. Todo lo que este por debajo de la menor marca en curso ya esta confirmado o descartado.
+ * <p>
+ * Vale para una sola instancia de la aplicacion, que es quien escribe en la base.
+ **/
+@Component
+public class SecuenciasEnCurso {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentSkipListSet<Long> marcas = new ConcurrentSkipListSet<>();
+    private final AtomicLong terminadas = new AtomicLong();
+
+    @Autowired
+    public SecuenciasEnCurso(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Registra la transaccion actual como escritora, una sola vez por transaccion; debe llamarse antes de tomar
+     * cualquier secuencia de cambio. La marca se libera al terminar la transaccion, confirmada o no.
+     **/
+    public void registrarEscritura() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Las escrituras con secuencia de cambio requieren una transaccion");
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        long marca = siguiente();
+        marcas.add(marca);
+        TransactionSynchronizationManager.bindResource(this, marca);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // antes que los listeners AFTER_COMPLETION, que ya deben ver la marca liberada
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SecuenciasEnCurso.this);
+                marcas.remove(marca);
+                terminadas.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Secuencia (exclusiva) por debajo de la cual todas las filas son definitivas. Se toma primero un valor propio de
+     * la secuencia y despues la menor marca en curso: una transaccion que se registre despues de mirar las marcas
+     * tomara sus secuencias por encima de ese valor.
+     **/
+    public long limiteSeguro() {
+        long propio = siguiente();
+        Long menorMarca = marcas.stream().findFirst().orElse(null);
+        return menorMarca == null ? propio : Math.min(propio, menorMarca);
+    }
+
+    /**
+     * Transacciones escritoras terminadas (confirmadas o no) desde el arranque. Si no cambia entre dos lecturas, el
+     * limite seguro no dejo pasar ninguna fila nueva y quien lee por secuencia puede ahorrarse la consulta.
+     **/
+    public long escriturasTerminadas() {
+        return terminadas.get();
+    }
+
+    private long siguiente() {
+        return jdbcTemplate.queryForObject("select " + SecuenciaCambioListener.SIGUIENTE_SECUENCIA, Long.class);
+    }
+}
@@ -0,0 +1,11 @@
+package com.api.rest.model.repository;
+
+import com.api.rest.model.EmpleadoEliminado;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface EmpleadoEliminadoRepository extends JpaRepository<EmpleadoEliminado, Long> {
+    List<EmpleadoEliminado> findBySecuenciaCambioGreaterThanAndSecuenciaCambioLessThanOrderBySecuenciaCambio(Long desde, Long hasta, Pageable pageable);
+}
@@ -1,10 +1,46 @@
 package com.api.rest.model.repository;
 
 import com.api.rest.model.Empleado;
+import com.api.rest.model.SecuenciaCambioListener;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface EmpleadoRepository extends JpaRepository<Empleado, Long> {
+public interface EmpleadoRepository extends JpaRepository<Empleado, Long>, JpaSpecificationExecutor<Empleado> {
     Optional<Empleado> findByEmail(String email);
+
+    @Query("select e.email from Empleado e where e.email in :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    List<Empleado> findBySecuenciaCambioGreaterThanAndSecuenciaCambioLessThanOrderBySecuenciaCambio(Long desde, Long hasta, Pageable pageable);
+
+    long countByEmailDominio(String emailDominio);
+
+    // siguiente tramo del dominio por keyset, bloqueando las filas hasta que se borren en la misma transaccion
+    @Query(value = "select id from empleados where email_dominio = :dominio and id > :despuesDe order by id limit :limite for update",
+            nativeQuery = true)
+    List<Long> bloquearIdsPorDominio(@Param("dominio") String dominio, @Param("despuesDe") long despuesDe, @Param("limite") int limite);
+
+    // los updates y deletes masivos no pasan por SecuenciaCambioListener: la secuencia y las lapidas van en la sentencia
+
+    @Modifying
+    @Query(value = "insert into empleados_eliminados (empleado_id, secuencia_cambio) select id, " + SecuenciaCambioListener.SIGUIENTE_SECUENCIA
+            + " from empleados where id in (:ids)", nativeQuery = true)
+    int registrarEliminadosPorIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Empleado e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "update empleados set apellido = :apellido, secuencia_cambio = " + SecuenciaCambioListener.SIGUIENTE_SECUENCIA
+            + " where id in (:ids)", nativeQuery = true)
+    int updateApellidoByIdIn(@Param("apellido") String apellido, @Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,37 @@
+package com.api.rest.model.repository;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoFiltro;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros de empleados resueltos en la base: prefijos sobre nombre/apellido e igualdad sobre email_dominio,
+ * todos cubiertos por los indices declarados en {@link Empleado}.
+ **/
+public final class EmpleadoSpecifications {
+
+    private EmpleadoSpecifications() {
+    }
+
+    public static Specification<Empleado> de(EmpleadoFiltro filtro) {
+        return Specification.where(nombreEmpiezaPor(filtro.nombre()))
+                .and(apellidoEmpiezaPor(filtro.apellido()))
+                .and(dominioEmail(filtro.dominio()));
+    }
+
+    public static Specification<Empleado> nombreEmpiezaPor(String nombre) {
+        return nombre == null ? null : (root, query, cb) -> cb.like(root.get("nombre"), escaparLike(nombre) + "%", '\\');
+    }
+
+    public static Specification<Empleado> apellidoEmpiezaPor(String apellido) {
+        return apellido == null ? null : (root, query, cb) -> cb.like(root.get("apellido"), escaparLike(apellido) + "%", '\\');
+    }
+
+    public static Specification<Empleado> dominioEmail(String dominio) {
+        return dominio == null ? null : (root, query, cb) -> cb.equal(root.get("emailDominio"), dominio.toLowerCase());
+    }
+
+    public static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
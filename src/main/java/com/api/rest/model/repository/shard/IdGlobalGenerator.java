@@ -0,0 +1,64 @@
+package com.api.rest.model.repository.shard;
+
+/**
+ * Ids globalmente unicos estilo snowflake: 40 bits de milisegundos desde EPOCH (hasta 2057), 5 bits de shard y 8 bits
+ * de secuencia dentro del mismo milisegundo (256 ids por milisegundo y shard). El shard queda codificado en el id, asi
+ * que buscar por id no necesita consultar todos los shards.
+ * <p>
+ * Son 53 bits en total: el id viaja como numero JSON y por encima de 2^53 los clientes JavaScript pierden precision.
+ * <p>
+ * No hay bits de nodo: la unicidad depende de que un solo proceso escriba en los shards. Dos instancias de la
+ * aplicacion sobre los mismos shards pueden generar el mismo id en el mismo milisegundo.
+ **/
+public class IdGlobalGenerator {
+
+    public static final int BITS_SHARD = 5;
+    public static final int MAX_SHARDS = 1 << BITS_SHARD;
+    private static final int BITS_SECUENCIA = 8;
+    private static final int BITS_TIEMPO = 40;
+    public static final long MAX_ID = (1L << (BITS_TIEMPO + BITS_SHARD + BITS_SECUENCIA)) - 1;
+    private static final long MASCARA_SECUENCIA = (1L << BITS_SECUENCIA) - 1;
+    private static final long EPOCH = 1_672_531_200_000L; // 2023-01-01T00:00:00Z
+
+    private final long[] ultimoMilisegundo = new long[MAX_SHARDS];
+    private final long[] secuencia = new long[MAX_SHARDS];
+
+    public long siguiente(int shard) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard fuera de rango: " + shard);
+        }
+        synchronized (this) {
+            long ahora = System.currentTimeMillis();
+            if (ahora < ultimoMilisegundo[shard]) {
+                // reloj hacia atras: se sigue sobre el ultimo milisegundo emitido
+                ahora = ultimoMilisegundo[shard];
+            }
+            if (ahora == ultimoMilisegundo[shard]) {
+                secuencia[shard] = (secuencia[shard] + 1) & MASCARA_SECUENCIA;
+                if (secuencia[shard] == 0) {
+                    ahora = esperarSiguienteMilisegundo(ahora);
+                }
+            } else {
+                secuencia[shard] = 0;
+            }
+            ultimoMilisegundo[shard] = ahora;
+            if (ahora - EPOCH >= 1L << BITS_TIEMPO) {
+                throw new IllegalStateException("Los bits de tiempo del id estan agotados");
+            }
+            return ((ahora - EPOCH) << (BITS_SHARD + BITS_SECUENCIA)) | ((long) shard << BITS_SECUENCIA) | secuencia[shard];
+        }
+    }
+
+    public static int shardDe(long id) {
+        return (int) ((id >>> BITS_SECUENCIA) & (MAX_SHARDS - 1));
+    }
+
+    private static long esperarSiguienteMilisegundo(long actual) {
+        long ahora = System.currentTimeMillis();
+        while (ahora <= actual) {
+            Thread.onSpinWait();
+            ahora = System.currentTimeMillis();
+        }
+        return ahora;
+    }
+}
@@ -0,0 +1,416 @@
+package com.api.rest.model.repository.shard;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoFiltro;
+import com.api.rest.model.repository.EmpleadoSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Empleados repartidos en N bases. Un empleado nuevo va al shard que indica el hash de su email y su id lleva
+ * codificado ese shard, de modo que leer, actualizar o borrar por id toca una sola base. Las consultas sin id
+ * (listados y filtros) se ejecutan en paralelo sobre todos los shards y se combinan en memoria.
+ * <p>
+ * La unicidad de email la garantiza la tabla empleados_email del shard dueño del email (el de su clave normalizada),
+ * con la clave como primary key. La fila no cambia de shard al cambiar el email porque su id lo fija; lo que se
+ * mueve es la reserva de la clave.
+ * <p>
+ * Cuando la fila y la clave estan en el mismo shard se escriben en una sola transaccion local. Si estan en shards
+ * distintos no hay transaccion comun, y si falla la liberacion de una clave queda reservada sin fila: se registra en
+ * el log y la limpia {@link #repararEmails()}, que corre al arrancar y ante un email duplicado.
+ **/
+public class ShardedEmpleadoRepository implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedEmpleadoRepository.class);
+    // una reserva mas nueva puede ser la de un cambio de email que todavia no actualizo su fila
+    private static final Duration GRACIA_RESERVA = Duration.ofMinutes(1);
+
+    private static final String COLUMNAS = "id, nombre, apellido, email, email_dominio";
+    private static final RowMapper<Empleado> MAPPER = (rs, fila) -> Empleado.builder()
+            .id(rs.getLong("id"))
+            .nombre(rs.getString("nombre"))
+            .apellido(rs.getString("apellido"))
+            .email(rs.getString("email"))
+            .emailDominio(rs.getString("email_dominio"))
+            .build();
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> shards;
+    private final List<TransactionTemplate> transacciones;
+    private final ExecutorService executor;
+    private final IdGlobalGenerator ids = new IdGlobalGenerator();
+
+    public ShardedEmpleadoRepository(List<DataSource> dataSources, ExecutorService executor) {
+        if (dataSources.isEmpty() || dataSources.size() > IdGlobalGenerator.MAX_SHARDS) {
+            throw new IllegalArgumentException("Cantidad de shards invalida: " + dataSources.size());
+        }
+        this.dataSources = List.copyOf(dataSources);
+        this.shards = dataSources.stream().map(JdbcTemplate::new).toList();
+        this.transacciones = dataSources.stream()
+                .map(dataSource -> new TransactionTemplate(new DataSourceTransactionManager(dataSource)))
+                .toList();
+        this.executor = executor;
+        shards.forEach(ShardedEmpleadoRepository::crearEsquema);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Clave con la que se reparte y se compara el email: sin espacios alrededor y en minusculas.
+     **/
+    public static String claveEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public int shardDeEmail(String email) {
+        int hash = claveEmail(email).hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.size());
+    }
+
+    /**
+     * Inserta en el shard del email, reservando la clave y la fila en la misma transaccion local.
+     *
+     * @throws DuplicateKeyException si otro empleado ya tiene ese email
+     **/
+    public Empleado insertar(Empleado empleado) {
+        int shard = shardDeEmail(empleado.getEmail());
+        empleado.setId(ids.siguiente(shard));
+        empleado.setEmailDominio(Empleado.dominioDe(empleado.getEmail()));
+        conReparacion(shard, claveEmail(empleado.getEmail()), () -> transacciones.get(shard).executeWithoutResult(status -> {
+            reservarEmail(shard, empleado.getEmail(), empleado.getId());
+            shards.get(shard).update("insert into empleados (" + COLUMNAS + ") values (?, ?, ?, ?, ?)",
+                    empleado.getId(), empleado.getNombre(), empleado.getApellido(), empleado.getEmail(), empleado.getEmailDominio());
+        }));
+        return empleado;
+    }
+
+    /**
+     * Actualiza la fila en su shard. Si cambia la clave del email, la nueva se reserva en su shard dueño antes o junto
+     * con la actualizacion de la fila y la anterior se libera despues o junto con ella; si la actualizacion falla se
+     * deshace la reserva.
+     *
+     * @throws DuplicateKeyException si otro empleado ya tiene el email nuevo
+     **/
+    public Empleado actualizar(Empleado empleado) {
+        empleado.setEmailDominio(Empleado.dominioDe(empleado.getEmail()));
+        Optional<JdbcTemplate> shard = shardDeId(empleado.getId());
+        Optional<String> anterior = shard.flatMap(fila -> emailDe(fila, empleado.getId()));
+        if (anterior.isEmpty()) {
+            return empleado;
+        }
+        String claveAnterior = claveEmail(anterior.get());
+        String claveNueva = claveEmail(empleado.getEmail());
+        if (claveNueva.equals(claveAnterior)) {
+            actualizarFila(shard.get(), empleado);
+            return empleado;
+        }
+        long id = empleado.getId();
+        int fila = IdGlobalGenerator.shardDe(id);
+        int destino = shardDeEmail(empleado.getEmail());
+        int origen = shardDeEmail(anterior.get());
+        conReparacion(destino, claveNueva, () -> {
+            if (destino == fila) {
+                transacciones.get(fila).executeWithoutResult(status -> {
+                    reservarEmail(destino, empleado.getEmail(), id);
+                    actualizarFila(shard.get(), empleado);
+                    if (origen == fila) {
+                        liberarEmail(origen, claveAnterior, id);
+                    }
+                });
+                return;
+            }
+            reservarEmail(destino, empleado.getEmail(), id);
+            try {
+                transacciones.get(fila).executeWithoutResult(status -> {
+                    actualizarFila(shard.get(), empleado);
+                    if (origen == fila) {
+                        liberarEmail(origen, claveAnterior, id);
+                    }
+                });
+            } catch (RuntimeException e) {
+                liberarOAvisar(destino, claveNueva, id);
+                throw e;
+            }
+        });
+        if (origen != fila) {
+            liberarOAvisar(origen, claveAnterior, id);
+        }
+        return empleado;
+    }
+
+    public Optional<Empleado> findById(long id) {
+        return shardDeId(id).flatMap(shard ->
+                shard.query("select " + COLUMNAS + " from empleados where id = ?", MAPPER, id).stream().findFirst());
+    }
+
+    public boolean deleteById(long id) {
+        Optional<JdbcTemplate> shard = shardDeId(id);
+        Optional<String> email = shard.flatMap(fila -> emailDe(fila, id));
+        if (email.isEmpty()) {
+            return false;
+        }
+        int fila = IdGlobalGenerator.shardDe(id);
+        int origen = shardDeEmail(email.get());
+        String clave = claveEmail(email.get());
+        if (origen == fila) {
+            return Boolean.TRUE.equals(transacciones.get(fila).execute(status -> {
+                if (shard.get().update("delete from empleados where id = ?", id) == 0) {
+                    return false;
+                }
+                liberarEmail(origen, clave, id);
+                return true;
+            }));
+        }
+        if (shard.get().update("delete from empleados where id = ?", id) == 0) {
+            return false;
+        }
+        liberarOAvisar(origen, clave, id);
+        return true;
+    }
+
+    /**
+     * Borra las reservas de email sin empleado: su fila ya no existe o tiene otro email. Solo mira reservas con mas
+     * de GRACIA_RESERVA, para no tocar la de un cambio de email en curso.
+     *
+     * @return cantidad de reservas borradas
+     **/
+    public int repararEmails() {
+        Timestamp limite = Timestamp.from(Instant.now().minus(GRACIA_RESERVA));
+        int reparadas = 0;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            List<Object[]> huerfanas = new ArrayList<>();
+            shards.get(shard).query("select email_clave, empleado_id from empleados_email where reservada < ?", rs -> {
+                String clave = rs.getString(1);
+                long id = rs.getLong(2);
+                if (!esDuena(clave, id)) {
+                    huerfanas.add(new Object[]{clave, id});
+                }
+            }, limite);
+            for (Object[] huerfana : huerfanas) {
+                reparadas += borrarHuerfana(shard, (String) huerfana[0], (Long) huerfana[1], limite);
+            }
+        }
+        if (reparadas > 0) {
+            log.info("Reservas de email sin empleado borradas: {}", reparadas);
+        }
+        return reparadas;
+    }
+
+    public boolean existsByEmail(String email) {
+        return shards.get(shardDeEmail(email)).queryForObject(
+                "select count(*) from empleados_email where email_clave = ?", Long.class, claveEmail(email)) > 0;
+    }
+
+    public long count() {
+        return scatter(shard -> shard.queryForObject("select count(*) from empleados", Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Pagina ordenada global: cada shard devuelve sus primeras offset + limite filas en el mismo orden y se hace una
+     * mezcla k-way, que es exacta porque el orden siempre desempata por id.
+     **/
+    public List<Empleado> buscar(EmpleadoFiltro filtro, long offset, int limite) {
+        StringBuilder sql = new StringBuilder("select " + COLUMNAS + " from empleados where 1 = 1");
+        List<Object> parametros = new ArrayList<>();
+        if (filtro.nombre() != null) {
+            sql.append(" and nombre like ? escape '\\'");
+            parametros.add(EmpleadoSpecifications.escaparLike(filtro.nombre()) + "%");
+        }
+        if (filtro.apellido() != null) {
+            sql.append(" and apellido like ? escape '\\'");
+            parametros.add(EmpleadoSpecifications.escaparLike(filtro.apellido()) + "%");
+        }
+        if (filtro.dominio() != null) {
+            sql.append(" and email_dominio = ?");
+            parametros.add(filtro.dominio().toLowerCase());
+        }
+        Sort orden = ordenConDesempate(filtro.orden());
+        sql.append(" order by ");
+        List<String> columnas = new ArrayList<>();
+        for (Sort.Order o : orden) {
+            columnas.add(o.getProperty() + (o.isAscending() ? " asc" : " desc"));
+        }
+        sql.append(String.join(", ", columnas)).append(" limit ?");
+        parametros.add(Math.min(offset + limite, Integer.MAX_VALUE));
+
+        List<List<Empleado>> parciales = scatter(shard -> shard.query(sql.toString(), MAPPER, parametros.toArray()));
+        return mezclar(parciales, comparador(orden), offset, limite);
+    }
+
+    private static List<Empleado> mezclar(List<List<Empleado>> parciales, Comparator<Empleado> comparador, long offset, int limite) {
+        record Cursor(List<Empleado> filas, int posicion) {
+            Empleado actual() {
+                return filas.get(posicion);
+            }
+        }
+        PriorityQueue<Cursor> cola = new PriorityQueue<>(Comparator.comparing(Cursor::actual, comparador));
+        for (List<Empleado> filas : parciales) {
+            if (!filas.isEmpty()) {
+                cola.add(new Cursor(filas, 0));
+            }
+        }
+        List<Empleado> resultado = new ArrayList<>();
+        long saltados = 0;
+        while (!cola.isEmpty() && resultado.size() < limite) {
+            Cursor cursor = cola.poll();
+            if (saltados < offset) {
+                saltados++;
+            } else {
+                resultado.add(cursor.actual());
+            }
+            if (cursor.posicion() + 1 < cursor.filas().size()) {
+                cola.add(new Cursor(cursor.filas(), cursor.posicion() + 1));
+            }
+        }
+        return resultado;
+    }
+
+    private static Sort ordenConDesempate(Sort orden) {
+        for (Sort.Order o : orden) {
+            if (!EmpleadoFiltro.CAMPOS_ORDENABLES.contains(o.getProperty())) {
+                throw new IllegalArgumentException("Campo de orden no permitido: " + o.getProperty());
+            }
+        }
+        return orden.getOrderFor("id") == null ? orden.and(Sort.by("id")) : orden;
+    }
+
+    private static Comparator<Empleado> comparador(Sort orden) {
+        Comparator<Empleado> comparador = null;
+        for (Sort.Order o : orden) {
+            Comparator<Empleado> siguiente = switch (o.getProperty()) {
+                case "id" -> Comparator.comparing(Empleado::getId);
+                case "nombre" -> Comparator.comparing(Empleado::getNombre);
+                case "apellido" -> Comparator.comparing(Empleado::getApellido);
+                default -> Comparator.comparing(Empleado::getEmail);
+            };
+            if (o.isDescending()) {
+                siguiente = siguiente.reversed();
+            }
+            comparador = comparador == null ? siguiente : comparador.thenComparing(siguiente);
+        }
+        return comparador;
+    }
+
+    private void reservarEmail(int shard, String email, long id) {
+        shards.get(shard).update("insert into empleados_email (email_clave, empleado_id, reservada) values (?, ?, ?)",
+                claveEmail(email), id, Timestamp.from(Instant.now()));
+    }
+
+    // libera una clave en un shard distinto al de la fila, ya confirmada: si falla la clave queda reservada sin fila
+    private void liberarOAvisar(int shard, String clave, long id) {
+        try {
+            liberarEmail(shard, clave, id);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo liberar el email {} del empleado {} en el shard {}; queda reservado hasta repararEmails()",
+                    clave, id, shard, e);
+        }
+    }
+
+    /**
+     * Ejecuta la escritura que reserva la clave; si choca con una reserva huerfana la borra y reintenta una vez.
+     **/
+    private void conReparacion(int shard, String clave, Runnable escritura) {
+        try {
+            escritura.run();
+        } catch (DuplicateKeyException e) {
+            Long duena = shards.get(shard).queryForList("select empleado_id from empleados_email where email_clave = ?",
+                    Long.class, clave).stream().findFirst().orElse(null);
+            if (duena == null || esDuena(clave, duena)
+                    || borrarHuerfana(shard, clave, duena, Timestamp.from(Instant.now().minus(GRACIA_RESERVA))) == 0) {
+                throw e;
+            }
+            log.info("Reserva huerfana del email {} (empleado {}) borrada en el shard {}", clave, duena, shard);
+            escritura.run();
+        }
+    }
+
+    // la reserva es legitima si el empleado existe y su email actual tiene esa clave
+    private boolean esDuena(String clave, long id) {
+        return shardDeId(id).flatMap(fila -> emailDe(fila, id)).map(email -> claveEmail(email).equals(clave)).orElse(false);
+    }
+
+    private int borrarHuerfana(int shard, String clave, long id, Timestamp limite) {
+        return shards.get(shard).update("delete from empleados_email where email_clave = ? and empleado_id = ? and reservada < ?",
+                clave, id, limite);
+    }
+
+    private void liberarEmail(int shard, String clave, long id) {
+        shards.get(shard).update("delete from empleados_email where email_clave = ? and empleado_id = ?", clave, id);
+    }
+
+    private static Optional<String> emailDe(JdbcTemplate shard, long id) {
+        return shard.queryForList("select email from empleados where id = ?", String.class, id).stream().findFirst();
+    }
+
+    private static void actualizarFila(JdbcTemplate shard, Empleado empleado) {
+        shard.update("update empleados set nombre = ?, apellido = ?, email = ?, email_dominio = ? where id = ?",
+                empleado.getNombre(), empleado.getApellido(), empleado.getEmail(), empleado.getEmailDominio(), empleado.getId());
+    }
+
+    private Optional<JdbcTemplate> shardDeId(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        int shard = IdGlobalGenerator.shardDe(id);
+        return shard < shards.size() ? Optional.of(shards.get(shard)) : Optional.empty();
+    }
+
+    private <T> List<T> scatter(Function<JdbcTemplate, T> consulta) {
+        List<CompletableFuture<T>> futuros = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> consulta.apply(shard), executor))
+                .toList();
+        try {
+            return futuros.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private static void crearEsquema(JdbcTemplate shard) {
+        shard.execute("create table if not exists empleados (id bigint primary key, nombre varchar(255) not null, "
+                + "apellido varchar(255) not null, email varchar(255) not null, email_dominio varchar(255))");
+        shard.execute("create table if not exists empleados_email (email_clave varchar(255) primary key, "
+                + "empleado_id bigint not null, reservada timestamp default current_timestamp not null)");
+        shard.execute("create index if not exists idx_empleados_email on empleados (email)");
+        shard.execute("create index if not exists idx_empleados_apellido_nombre on empleados (apellido, nombre)");
+        shard.execute("create index if not exists idx_empleados_nombre_apellido on empleados (nombre, apellido)");
+        shard.execute("create index if not exists idx_empleados_dominio_apellido on empleados (email_dominio, apellido)");
+    }
+
+    @Override
+    public void close() throws Exception {
+        executor.shutdown();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable cerrable) {
+                cerrable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.api.rest.replica;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Alimenta la replica de forma asincrona leyendo de la primaria las filas de empleados y las lapidas con
+ * secuencia_cambio mayor a la ultima aplicada. Cada pasada solo avanza hasta el limite seguro de SecuenciasEnCurso:
+ * la secuencia se asigna antes del commit y una transaccion lenta puede confirmar un valor menor despues, asi que
+ * lo que esta por encima de la menor escritura en curso se deja para la pasada siguiente.
+ **/
+public class EmpleadoReplicator implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EmpleadoReplicator.class);
+    private static final int LOTE = 1000;
+
+    private final JdbcTemplate primaria;
+    private final JdbcTemplate replica;
+    private final LongSupplier limiteSeguro;
+    private final long intervaloMs;
+    private final long maxLagMs;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread hilo = new Thread(r, "replicator");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private volatile long ultimaSecuencia;
+    private volatile long alDiaDesde;
+
+    public EmpleadoReplicator(DataSource primaria, DataSource replica, LongSupplier limiteSeguro, long intervaloMs, long maxLagMs) {
+        this.primaria = new JdbcTemplate(primaria);
+        this.replica = new JdbcTemplate(replica);
+        this.limiteSeguro = limiteSeguro;
+        this.intervaloMs = intervaloMs;
+        this.maxLagMs = maxLagMs;
+        new ResourceDatabasePopulator(new ClassPathResource("empleados-schema.sql")).execute(replica);
+    }
+
+    public void iniciar() {
+        scheduler.scheduleWithFixedDelay(this::sincronizarSeguro, 0, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * true si la replica reflejaba todos los commits de la primaria hace como maximo max-lag-ms. Una pasada solo
+     * cuenta si llego al limite seguro, que esta por encima de todo lo confirmado antes de empezarla.
+     **/
+    public boolean alDia() {
+        return alDiaDesde > 0 && System.currentTimeMillis() - alDiaDesde <= maxLagMs;
+    }
+
+    public long getLagMs() {
+        return alDiaDesde == 0 ? -1 : System.currentTimeMillis() - alDiaDesde;
+    }
+
+    public long getUltimaSecuencia() {
+        return ultimaSecuencia;
+    }
+
+    private void sincronizarSeguro() {
+        try {
+            sincronizar();
+        } catch (Exception e) {
+            log.warn("Error replicando empleados; las lecturas vuelven a la primaria hasta recuperar", e);
+        }
+    }
+
+    void sincronizar() {
+        long inicio = System.currentTimeMillis();
+        long hasta = limiteSeguro.getAsLong();
+        long desde = ultimaSecuencia;
+        boolean completo;
+        do {
+            List<Map<String, Object>> filas = primaria.queryForList(
+                    "select id, nombre, apellido, email, email_dominio, secuencia_cambio from empleados "
+                            + "where secuencia_cambio > ? and secuencia_cambio < ? order by secuencia_cambio limit ?",
+                    desde, hasta, LOTE);
+            List<Map<String, Object>> lapidas = primaria.queryForList(
+                    "select empleado_id, secuencia_cambio from empleados_eliminados "
+                            + "where secuencia_cambio > ? and secuencia_cambio < ? order by secuencia_cambio limit ?",
+                    desde, hasta, LOTE);
+            aplicar(filas, lapidas);
+            // una lista llena puede tener mas filas despues de su ultima secuencia: se avanza solo hasta la menor de esas
+            long siguiente = hasta - 1;
+            if (filas.size() == LOTE) {
+                siguiente = Math.min(siguiente, secuencia(filas.get(LOTE - 1)));
+            }
+            if (lapidas.size() == LOTE) {
+                siguiente = Math.min(siguiente, secuencia(lapidas.get(LOTE - 1)));
+            }
+            completo = filas.size() < LOTE && lapidas.size() < LOTE;
+            desde = Math.max(desde, siguiente);
+            ultimaSecuencia = desde;
+        } while (!completo);
+        alDiaDesde = inicio;
+    }
+
+    private static long secuencia(Map<String, Object> fila) {
+        return ((Number) fila.get("secuencia_cambio")).longValue();
+    }
+
+    private void aplicar(List<Map<String, Object>> filas, List<Map<String, Object>> lapidas) {
+        if (!filas.isEmpty()) {
+            List<Object[]> valores = new ArrayList<>(filas.size());
+            for (Map<String, Object> fila : filas) {
+                valores.add(new Object[]{fila.get("id"), fila.get("nombre"), fila.get("apellido"), fila.get("email"),
+                        fila.get("email_dominio"), fila.get("secuencia_cambio")});
+            }
+            replica.batchUpdate("merge into empleados (id, nombre, apellido, email, email_dominio, secuencia_cambio) "
+                    + "key (id) values (?, ?, ?, ?, ?, ?)", valores);
+        }
+        if (!lapidas.isEmpty()) {
+            List<Object[]> ids = new ArrayList<>(lapidas.size());
+            List<Object[]> valores = new ArrayList<>(lapidas.size());
+            for (Map<String, Object> lapida : lapidas) {
+                ids.add(new Object[]{lapida.get("empleado_id")});
+                valores.add(new Object[]{lapida.get("empleado_id"), lapida.get("secuencia_cambio")});
+            }
+            replica.batchUpdate("delete from empleados where id = ?", ids);
+            replica.batchUpdate("merge into empleados_eliminados (empleado_id, secuencia_cambio) key (empleado_id) values (?, ?)", valores);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
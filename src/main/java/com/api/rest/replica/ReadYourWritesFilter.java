@@ -0,0 +1,66 @@
+package com.api.rest.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Despues de que un cliente escribe, sus lecturas van a la primaria durante sticky-ms para que vea sus propios
+ * cambios aunque la replica todavia no los tenga. El cliente se identifica con X-Client-Id o, si no viene, por IP.
+ **/
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    private static final int MAX_CLIENTES = 10_000;
+
+    private final long stickyMs;
+    private final Map<String, Long> ultimaEscritura = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(long stickyMs) {
+        this.stickyMs = stickyMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String cliente = cliente(request);
+        Long escritura = ultimaEscritura.get(cliente);
+        if (escritura != null && System.currentTimeMillis() - escritura <= stickyMs) {
+            ReplicaRoutingContext.forzarPrimaria();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.limpiar();
+            if (esEscritura(request) && response.getStatus() < 400) {
+                registrarEscritura(cliente);
+            }
+        }
+    }
+
+    private void registrarEscritura(String cliente) {
+        long ahora = System.currentTimeMillis();
+        if (ultimaEscritura.size() >= MAX_CLIENTES) {
+            ultimaEscritura.values().removeIf(instante -> ahora - instante > stickyMs);
+        }
+        ultimaEscritura.put(cliente, ahora);
+    }
+
+    private static boolean esEscritura(HttpServletRequest request) {
+        return switch (request.getMethod()) {
+            case "POST", "PUT", "PATCH", "DELETE" -> true;
+            default -> false;
+        };
+    }
+
+    private static String cliente(HttpServletRequest request) {
+        String id = request.getHeader(CLIENT_ID_HEADER);
+        return id != null && !id.isBlank() ? id : request.getRemoteAddr();
+    }
+}
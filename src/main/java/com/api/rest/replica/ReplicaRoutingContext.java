@@ -0,0 +1,24 @@
+package com.api.rest.replica;
+
+/**
+ * Marca por hilo para forzar la base primaria en la peticion actual (lectura de las propias escrituras).
+ **/
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> FORZAR_PRIMARIA = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void forzarPrimaria() {
+        FORZAR_PRIMARIA.set(Boolean.TRUE);
+    }
+
+    public static boolean primariaForzada() {
+        return FORZAR_PRIMARIA.get() != null;
+    }
+
+    public static void limpiar() {
+        FORZAR_PRIMARIA.remove();
+    }
+}
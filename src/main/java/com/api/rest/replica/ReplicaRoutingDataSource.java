@@ -0,0 +1,38 @@
+package com.api.rest.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Envia las transacciones readOnly a la replica y todo lo demas a la primaria. Debe ir envuelto en un
+ * LazyConnectionDataSourceProxy para que la conexion se pida despues de que la transaccion marque readOnly.
+ **/
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino {PRIMARIA, REPLICA}
+
+    private final EmpleadoReplicator replicator;
+
+    public ReplicaRoutingDataSource(DataSource primaria, DataSource replica, EmpleadoReplicator replicator) {
+        this.replicator = replicator;
+        setTargetDataSources(Map.of(Destino.PRIMARIA, primaria, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return destinoActual();
+    }
+
+    public Destino destinoActual() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReplicaRoutingContext.primariaForzada()
+                && replicator.alDia()) {
+            return Destino.REPLICA;
+        }
+        return Destino.PRIMARIA;
+    }
+}
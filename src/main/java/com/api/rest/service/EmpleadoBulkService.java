@@ -0,0 +1,18 @@
+package com.api.rest.service;
+
+import com.api.rest.model.BulkJob;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EmpleadoBulkService {
+
+    BulkJob eliminarPorDominio(String dominio);
+
+    BulkJob renombrarApellido(Collection<Long> ids, String apellido);
+
+    List<BulkJob> getAllJobs();
+
+    Optional<BulkJob> getJobById(String id);
+}
@@ -0,0 +1,159 @@
+package com.api.rest.service;
+
+import com.api.rest.model.BulkJob;
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoCambio;
+import com.api.rest.model.SecuenciasEnCurso;
+import com.api.rest.model.repository.EmpleadoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Operaciones masivas con una sentencia por tramo de ids, cada tramo en su propia transaccion para acotar bloqueos
+ * y tamaño del log. Tras cada tramo confirmado publica un EmpleadoCambio por fila afectada, ELIMINADO o ACTUALIZADO,
+ * como lo haria EmpleadoService: la foto en memoria se pone al dia por secuencia y los clientes SSE reciben solo las
+ * filas del tramo, sin recargar la lista completa.
+ **/
+@Service
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class EmpleadoBulkServiceImpl implements EmpleadoBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmpleadoBulkServiceImpl.class);
+    private static final int MAX_JOBS = 100;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private SecuenciasEnCurso secuenciasEnCurso;
+    @Autowired
+    @Qualifier("bulkExecutor")
+    private ThreadPoolTaskExecutor bulkExecutor;
+
+    @Value("${app.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    private final Map<String, BulkJob> jobs = new LinkedHashMap<>();
+
+    @Override
+    public BulkJob eliminarPorDominio(String dominio) {
+        String normalizado = dominio.trim().toLowerCase(Locale.ROOT);
+        return lanzar("eliminar dominio " + normalizado, job -> {
+            // el total es una estimacion: avanza por los ids que existen, no por el rango [min, max] que con ids
+            // dispersos dejaria muchos tramos vacios
+            long existentes = empleadoRepository.countByEmailDominio(normalizado);
+            job.iniciar((existentes + chunkSize - 1) / chunkSize);
+            long ultimo = Long.MIN_VALUE;
+            while (true) {
+                long despuesDe = ultimo;
+                List<Long> tramo = transactionTemplate.execute(status -> {
+                    List<Long> ids = empleadoRepository.bloquearIdsPorDominio(normalizado, despuesDe, chunkSize);
+                    if (!ids.isEmpty()) {
+                        secuenciasEnCurso.registrarEscritura();
+                        empleadoRepository.registrarEliminadosPorIdIn(ids);
+                        empleadoRepository.deleteByIdIn(ids);
+                    }
+                    return ids;
+                });
+                if (tramo.isEmpty()) {
+                    return;
+                }
+                tramoConfirmado(job, tramo.stream().map(EmpleadoCambio::eliminado).toList());
+                ultimo = tramo.get(tramo.size() - 1);
+            }
+        });
+    }
+
+    @Override
+    public BulkJob renombrarApellido(Collection<Long> ids, String apellido) {
+        List<Long> ordenados = ids.stream().distinct().sorted().toList();
+        return lanzar("renombrar apellido de " + ordenados.size() + " ids", job -> {
+            job.iniciar((ordenados.size() + chunkSize - 1) / chunkSize);
+            for (int i = 0; i < ordenados.size(); i += chunkSize) {
+                List<Long> tramo = ordenados.subList(i, Math.min(i + chunkSize, ordenados.size()));
+                List<Empleado> renombrados = transactionTemplate.execute(status -> {
+                    secuenciasEnCurso.registrarEscritura();
+                    empleadoRepository.updateApellidoByIdIn(apellido, tramo);
+                    // el update limpia el contexto de persistencia: se leen las filas ya renombradas
+                    return empleadoRepository.findAllById(tramo);
+                });
+                tramoConfirmado(job, renombrados.stream().map(EmpleadoCambio::actualizado).toList());
+            }
+        });
+    }
+
+    @Override
+    public List<BulkJob> getAllJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    @Override
+    public Optional<BulkJob> getJobById(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    // se descarta el job terminado mas antiguo aunque no sea el primero; los pendientes estan acotados por la cola de
+    // bulkExecutor
+    private BulkJob lanzar(String operacion, Consumer<BulkJob> trabajo) {
+        BulkJob job = new BulkJob(operacion);
+        synchronized (jobs) {
+            if (jobs.size() >= MAX_JOBS) {
+                jobs.values().stream()
+                        .filter(anterior -> anterior.getEstado() == BulkJob.Estado.COMPLETADO
+                                || anterior.getEstado() == BulkJob.Estado.FALLIDO)
+                        .findFirst()
+                        .ifPresent(anterior -> jobs.remove(anterior.getId()));
+            }
+            jobs.put(job.getId(), job);
+        }
+        try {
+            bulkExecutor.execute(() -> ejecutar(job, trabajo));
+        } catch (TaskRejectedException e) {
+            job.fallar("cola de operaciones masivas llena");
+        }
+        return job;
+    }
+
+    private void ejecutar(BulkJob job, Consumer<BulkJob> trabajo) {
+        try {
+            trabajo.accept(job);
+            job.completar();
+            log.info("Operacion masiva {} ({}) terminada: {} filas", job.getId(), job.getOperacion(), job.getFilasAfectadas());
+        } catch (Exception e) {
+            log.warn("Operacion masiva {} ({}) fallida", job.getId(), job.getOperacion(), e);
+            job.fallar(e.getMessage());
+        }
+    }
+
+    // las sentencias masivas no pasan por EmpleadoService: los eventos se publican fuera de la transaccion, con el
+    // tramo ya confirmado, asi un fallo en un tramo posterior no deja sin publicar los anteriores
+    private void tramoConfirmado(BulkJob job, List<EmpleadoCambio> cambios) {
+        job.tramoProcesado(cambios.size());
+        cambios.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,195 @@
+package com.api.rest.service;
+
+import com.api.rest.model.EmpleadoCambio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feed de cambios de empleados. Guarda los ultimos eventos en un buffer circular para que un cliente que se reconecta
+ * pueda continuar desde su Last-Event-ID, y reparte cada evento a los suscriptores sin bloquear al publicador:
+ * cada cliente tiene una cola acotada y si se llena se le desconecta.
+ * <p>
+ * El envio al cliente es bloqueante (SseEmitter), asi que cada cliente drena en su propio hilo del executor y un
+ * cliente que no lee solo retiene el suyo. Si un envio lleva mas de app.changes.send-timeout-ms se le saca del feed
+ * en la siguiente publicacion; el hilo queda libre cuando el contenedor corta la escritura.
+ **/
+@Component
+public class EmpleadoChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(EmpleadoChangeFeed.class);
+
+    public record Evento(long seq, EmpleadoCambio cambio) {
+    }
+
+    public interface Suscriptor {
+        void enviar(Evento evento) throws Exception;
+
+        void cerrar();
+    }
+
+    private final Executor executor;
+    private final Evento[] buffer;
+    private final int colaPorCliente;
+    private final long timeoutEnvioNanos;
+    private final Set<Cliente> clientes = ConcurrentHashMap.newKeySet();
+    private long ultimoSeq;
+
+    @Autowired
+    public EmpleadoChangeFeed(@Qualifier("changeFeedExecutor") Executor executor,
+                              @Value("${app.changes.buffer-size:1024}") int tamanoBuffer,
+                              @Value("${app.changes.client-queue:256}") int colaPorCliente,
+                              @Value("${app.changes.send-timeout-ms:5000}") long timeoutEnvioMs) {
+        this.executor = executor;
+        this.buffer = new Evento[tamanoBuffer];
+        this.colaPorCliente = colaPorCliente;
+        this.timeoutEnvioNanos = TimeUnit.MILLISECONDS.toNanos(timeoutEnvioMs);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCambio(EmpleadoCambio cambio) {
+        publicar(cambio);
+    }
+
+    public synchronized void publicar(EmpleadoCambio cambio) {
+        Evento evento = new Evento(++ultimoSeq, cambio);
+        buffer[(int) (evento.seq() % buffer.length)] = evento;
+        long ahora = System.nanoTime();
+        for (Cliente cliente : clientes) {
+            if (cliente.enviandoDesde != 0 && ahora - cliente.enviandoDesde > timeoutEnvioNanos) {
+                log.info("Cliente del feed de cambios descartado por envio bloqueado en seq {}", evento.seq());
+                cliente.descartar();
+                continue;
+            }
+            cliente.encolar(evento);
+        }
+    }
+
+    /**
+     * Registra un suscriptor; si trae Last-Event-ID se le reenvian los eventos posteriores que sigan en el buffer,
+     * o un evento RESET si ya se perdieron.
+     **/
+    public synchronized Cliente suscribir(Suscriptor suscriptor, Long lastEventId) {
+        long desde = lastEventId == null ? ultimoSeq : lastEventId;
+        long primeroEnBuffer = Math.max(1, ultimoSeq - buffer.length + 1);
+        boolean perdido = desde > ultimoSeq || (desde < ultimoSeq && desde + 1 < primeroEnBuffer);
+        int pendientes = perdido ? 1 : (int) (ultimoSeq - desde);
+
+        Cliente cliente = new Cliente(suscriptor, colaPorCliente + pendientes);
+        if (perdido) {
+            cliente.encolar(new Evento(ultimoSeq, EmpleadoCambio.reset()));
+        } else {
+            for (long seq = desde + 1; seq <= ultimoSeq; seq++) {
+                cliente.encolar(buffer[(int) (seq % buffer.length)]);
+            }
+        }
+        clientes.add(cliente);
+        return cliente;
+    }
+
+    public void desuscribir(Cliente cliente) {
+        clientes.remove(cliente);
+    }
+
+    public int getClientes() {
+        return clientes.size();
+    }
+
+    public class Cliente {
+        private final Suscriptor suscriptor;
+        private final ArrayBlockingQueue<Evento> cola;
+        private final AtomicBoolean drenando = new AtomicBoolean();
+        private final AtomicBoolean suscriptorCerrado = new AtomicBoolean();
+        private volatile boolean cerrado;
+        // System.nanoTime() al empezar el envio en curso, 0 si no hay ninguno
+        private volatile long enviandoDesde;
+
+        private Cliente(Suscriptor suscriptor, int capacidad) {
+            this.suscriptor = suscriptor;
+            this.cola = new ArrayBlockingQueue<>(capacidad);
+        }
+
+        private void encolar(Evento evento) {
+            if (cerrado) {
+                return;
+            }
+            if (!cola.offer(evento)) {
+                log.info("Cliente del feed de cambios descartado por lento en seq {}", evento.seq());
+                descartar();
+                return;
+            }
+            programarDrenado();
+        }
+
+        private void programarDrenado() {
+            if (drenando.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drenar);
+                } catch (RejectedExecutionException e) {
+                    drenando.set(false);
+                    descartar();
+                }
+            }
+        }
+
+        private void drenar() {
+            try {
+                Evento evento;
+                while (!cerrado && (evento = cola.poll()) != null) {
+                    enviandoDesde = System.nanoTime();
+                    suscriptor.enviar(evento);
+                    enviandoDesde = 0;
+                }
+            } catch (Exception e) {
+                cerrado = true;
+                desuscribir(this);
+            } finally {
+                enviandoDesde = 0;
+                drenando.set(false);
+            }
+            if (cerrado) {
+                cerrarSuscriptor();
+            } else if (!cola.isEmpty()) {
+                programarDrenado();
+            }
+        }
+
+        /**
+         * Saca al cliente del feed sin esperar: cerrar el suscriptor puede esperar al lock del emisor que tiene un envio
+         * en curso, asi que se cierra desde el executor, o lo hace el hilo que drena al terminar ese envio.
+         **/
+        private void descartar() {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            desuscribir(this);
+            cola.clear();
+            if (enviandoDesde == 0) {
+                try {
+                    executor.execute(this::cerrarSuscriptor);
+                } catch (RejectedExecutionException e) {
+                    cerrarSuscriptor();
+                }
+            }
+        }
+
+        private void cerrarSuscriptor() {
+            if (suscriptorCerrado.compareAndSet(false, true)) {
+                suscriptor.cerrar();
+            }
+        }
+    }
+}
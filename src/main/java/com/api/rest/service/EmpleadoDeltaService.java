@@ -0,0 +1,8 @@
+package com.api.rest.service;
+
+import com.api.rest.model.EmpleadoDelta;
+
+public interface EmpleadoDeltaService {
+
+    EmpleadoDelta getDelta(long desde, int limite);
+}
@@ -0,0 +1,65 @@
+package com.api.rest.service;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoDelta;
+import com.api.rest.model.EmpleadoEliminado;
+import com.api.rest.model.SecuenciasEnCurso;
+import com.api.rest.model.repository.EmpleadoEliminadoRepository;
+import com.api.rest.model.repository.EmpleadoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sincronizacion incremental por secuencia de cambio sobre el almacen JPA. Con sharding no hay una secuencia comun
+ * entre shards y ni este servicio ni EmpleadoDeltaController se publican.
+ **/
+@Service
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class EmpleadoDeltaServiceImpl implements EmpleadoDeltaService {
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+    @Autowired
+    private EmpleadoEliminadoRepository empleadoEliminadoRepository;
+    @Autowired
+    private SecuenciasEnCurso secuenciasEnCurso;
+
+    // sin readOnly: el limite seguro sale de las escrituras en curso de la primaria, y con replica se leeria otra base
+    @Override
+    @Transactional
+    public EmpleadoDelta getDelta(long desde, int limite) {
+        PageRequest pagina = PageRequest.of(0, limite);
+        long hasta = secuenciasEnCurso.limiteSeguro();
+        List<Empleado> modificados = empleadoRepository
+                .findBySecuenciaCambioGreaterThanAndSecuenciaCambioLessThanOrderBySecuenciaCambio(desde, hasta, pagina);
+        List<EmpleadoEliminado> eliminados = empleadoEliminadoRepository
+                .findBySecuenciaCambioGreaterThanAndSecuenciaCambioLessThanOrderBySecuenciaCambio(desde, hasta, pagina);
+
+        // mezcla ordenada por secuencia de las dos listas, cortando en el limite
+        List<Empleado> cambios = new ArrayList<>();
+        List<Long> idsEliminados = new ArrayList<>();
+        long token = desde;
+        int i = 0;
+        int j = 0;
+        while (cambios.size() + idsEliminados.size() < limite && (i < modificados.size() || j < eliminados.size())) {
+            if (j == eliminados.size() || (i < modificados.size()
+                    && modificados.get(i).getSecuenciaCambio() < eliminados.get(j).getSecuenciaCambio())) {
+                Empleado empleado = modificados.get(i++);
+                cambios.add(empleado);
+                token = empleado.getSecuenciaCambio();
+            } else {
+                EmpleadoEliminado eliminado = eliminados.get(j++);
+                idsEliminados.add(eliminado.getEmpleadoId());
+                token = eliminado.getSecuenciaCambio();
+            }
+        }
+        boolean hayMas = modificados.size() == limite || eliminados.size() == limite
+                || i < modificados.size() || j < eliminados.size();
+        return new EmpleadoDelta(String.valueOf(token), hayMas, cambios, idsEliminados);
+    }
+}
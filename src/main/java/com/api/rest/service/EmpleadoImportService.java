@@ -0,0 +1,26 @@
+package com.api.rest.service;
+
+import com.api.rest.model.ImportJob;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+public interface EmpleadoImportService {
+
+    /**
+     * Importa el CSV en el hilo que llama y devuelve el job ya terminado (COMPLETADO o FALLIDO).
+     **/
+    ImportJob importar(InputStream csv);
+
+    /**
+     * Encola la importacion de un archivo dentro de app.import.admin-dir y devuelve el job EN_CURSO; si la cola esta
+     * llena el job vuelve FALLIDO. Vacio si la ruta no esta permitida o no existe.
+     **/
+    Optional<ImportJob> importarArchivo(Path archivo);
+
+    List<ImportJob> getAllJobs();
+
+    Optional<ImportJob> getJobById(String id);
+}
@@ -0,0 +1,225 @@
+package com.api.rest.service;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoCambio;
+import com.api.rest.model.ImportJob;
+import com.api.rest.model.SecuenciaCambioListener;
+import com.api.rest.model.SecuenciasEnCurso;
+import com.api.rest.model.repository.EmpleadoRepository;
+import com.api.rest.service.csv.CsvLineReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Importa por JDBC sobre la base principal; con sharding las filas no irian a sus shards, asi que no se registra.
+ **/
+@Service
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class EmpleadoImportServiceImpl implements EmpleadoImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmpleadoImportServiceImpl.class);
+    private static final String INSERT = "insert into empleados (nombre, apellido, email, email_dominio, secuencia_cambio) values (?, ?, ?, ?, "
+            + SecuenciaCambioListener.SIGUIENTE_SECUENCIA + ")";
+    private static final int MAX_JOBS = 100;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private SecuenciasEnCurso secuenciasEnCurso;
+    @Autowired
+    @Qualifier("importExecutor")
+    private ThreadPoolTaskExecutor importExecutor;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${app.import.admin-dir:}")
+    private String adminDir;
+
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    @Override
+    public ImportJob importar(InputStream csv) {
+        ImportJob job = registrar("stream");
+        procesar(job, CsvLineReader.of(csv));
+        return job;
+    }
+
+    @Override
+    public Optional<ImportJob> importarArchivo(Path archivo) {
+        if (adminDir.isBlank()) {
+            return Optional.empty();
+        }
+        Path base = Path.of(adminDir).toAbsolutePath().normalize();
+        Path ruta = base.resolve(archivo).toAbsolutePath().normalize();
+        if (!ruta.startsWith(base) || !Files.isRegularFile(ruta)) {
+            return Optional.empty();
+        }
+        ImportJob job = registrar(ruta.toString());
+        try {
+            importExecutor.execute(() -> {
+                try {
+                    procesar(job, CsvLineReader.mapped(ruta));
+                } catch (IOException e) {
+                    job.fallar(e.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            job.fallar("cola de importaciones llena");
+        }
+        return Optional.of(job);
+    }
+
+    @Override
+    public List<ImportJob> getAllJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    @Override
+    public Optional<ImportJob> getJobById(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    // se descarta el job terminado mas antiguo; los que siguen en curso se conservan y estan acotados por el pool de
+    // importExecutor y por los hilos de peticiones que importan por stream
+    private ImportJob registrar(String origen) {
+        ImportJob job = new ImportJob(origen);
+        synchronized (jobs) {
+            if (jobs.size() >= MAX_JOBS) {
+                jobs.values().stream()
+                        .filter(anterior -> anterior.getEstado() != ImportJob.Estado.EN_CURSO)
+                        .findFirst()
+                        .ifPresent(anterior -> jobs.remove(anterior.getId()));
+            }
+            jobs.put(job.getId(), job);
+        }
+        return job;
+    }
+
+    private void procesar(ImportJob job, CsvLineReader reader) {
+        try (reader) {
+            List<Fila> chunk = new ArrayList<>(chunkSize);
+            boolean primera = true;
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                if (linea.isBlank()) {
+                    continue;
+                }
+                List<String> campos = CsvLineReader.split(linea);
+                if (primera && esCabecera(campos)) {
+                    primera = false;
+                    continue;
+                }
+                primera = false;
+                job.filaLeida();
+                if (campos.size() != 3) {
+                    job.invalida(reader.getNumeroLinea(), "se esperaban 3 columnas y hay " + campos.size());
+                    continue;
+                }
+                Fila fila = new Fila(reader.getNumeroLinea(), campos.get(0).trim(), campos.get(1).trim(), campos.get(2).trim());
+                String error = validar(fila);
+                if (error != null) {
+                    job.invalida(fila.linea(), error);
+                    continue;
+                }
+                chunk.add(fila);
+                if (chunk.size() == chunkSize) {
+                    guardarChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            guardarChunk(job, chunk);
+            job.completar();
+            log.info("Importacion {} terminada: {} importadas, {} duplicadas, {} invalidas",
+                    job.getId(), job.getImportadas(), job.getDuplicadas(), job.getInvalidas());
+        } catch (Exception e) {
+            log.warn("Importacion {} fallida", job.getId(), e);
+            job.fallar(e.getMessage());
+        }
+        if (job.getImportadas() > 0) {
+            // los inserts por lote no pasan por EmpleadoService: se avisa a feeds y caches que recarguen
+            eventPublisher.publishEvent(EmpleadoCambio.reset());
+        }
+    }
+
+    private void guardarChunk(ImportJob job, List<Fila> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> emails = new HashSet<>(chunk.size() * 2);
+        List<Fila> unicas = new ArrayList<>(chunk.size());
+        for (Fila fila : chunk) {
+            if (emails.add(fila.email())) {
+                unicas.add(fila);
+            } else {
+                job.duplicada(fila.linea(), fila.email());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            secuenciasEnCurso.registrarEscritura();
+            Set<String> existentes = new HashSet<>(empleadoRepository.findEmailsExistentes(emails));
+            List<Object[]> lote = new ArrayList<>(unicas.size());
+            for (Fila fila : unicas) {
+                if (existentes.contains(fila.email())) {
+                    job.duplicada(fila.linea(), fila.email());
+                } else {
+                    lote.add(new Object[]{fila.nombre(), fila.apellido(), fila.email(), Empleado.dominioDe(fila.email())});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT, lote);
+            job.sumarImportadas(lote.size());
+        });
+    }
+
+    private static boolean esCabecera(List<String> campos) {
+        return campos.size() == 3
+                && campos.get(0).trim().equalsIgnoreCase("nombre")
+                && campos.get(1).trim().equalsIgnoreCase("apellido")
+                && campos.get(2).trim().equalsIgnoreCase("email");
+    }
+
+    private static String validar(Fila fila) {
+        if (fila.nombre().isEmpty() || fila.apellido().isEmpty() || fila.email().isEmpty()) {
+            return "nombre, apellido y email son obligatorios";
+        }
+        int arroba = fila.email().indexOf('@');
+        if (arroba <= 0 || arroba != fila.email().lastIndexOf('@') || arroba == fila.email().length() - 1) {
+            return "email invalido " + fila.email();
+        }
+        return null;
+    }
+
+    private record Fila(long linea, String nombre, String apellido, String email) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.api.rest.service;
 
 import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoFiltro;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -12,6 +13,8 @@ public interface EmpleadoService {
 
     List<Empleado> getAllEmpleado();
 
+    List<Empleado> buscarEmpleados(EmpleadoFiltro filtro);
+
     Optional<Empleado> getEmpleadoById(Long id);
 
     Empleado updateEmpleado(Empleado empleadoActualizado);
@@ -2,44 +2,71 @@ package com.api.rest.service;
 
 import com.api.rest.exception.ResourseNotFoundException;
 import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoCambio;
+import com.api.rest.model.EmpleadoFiltro;
 import com.api.rest.model.repository.EmpleadoRepository;
+import com.api.rest.model.repository.EmpleadoSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
 public class EmpleadoServiceImpl implements EmpleadoService {
     @Autowired
     private EmpleadoRepository empleadoRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public Empleado saveEmpleado(Empleado empleado) {
         Optional<Empleado> empleadoGuardado = empleadoRepository.findByEmail(empleado.getEmail());
         if (empleadoGuardado.isPresent()) {
             throw new ResourseNotFoundException("El empleado con el email que indicaste ya existe" + empleado.getEmail());
         }
-        return empleadoRepository.save(empleado);
+        Empleado empleadoNuevo = empleadoRepository.save(empleado);
+        eventPublisher.publishEvent(EmpleadoCambio.creado(empleadoNuevo));
+        return empleadoNuevo;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Empleado> getAllEmpleado() {
         return empleadoRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Empleado> buscarEmpleados(EmpleadoFiltro filtro) {
+        return empleadoRepository.findAll(EmpleadoSpecifications.de(filtro), filtro.orden());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Empleado> getEmpleadoById(Long id) {
         return empleadoRepository.findById(id);
     }
 
     @Override
+    @Transactional
     public Empleado updateEmpleado(Empleado empleadoActualizado) {
-        return empleadoRepository.save(empleadoActualizado);
+        Empleado empleado = empleadoRepository.save(empleadoActualizado);
+        eventPublisher.publishEvent(EmpleadoCambio.actualizado(empleado));
+        return empleado;
     }
 
     @Override
+    @Transactional
     public void deleteEmpleado(Long id) {
-        empleadoRepository.deleteById(id);
+        empleadoRepository.findById(id).ifPresent(empleado -> {
+            empleadoRepository.delete(empleado);
+            eventPublisher.publishEvent(EmpleadoCambio.eliminado(id));
+        });
     }
 }
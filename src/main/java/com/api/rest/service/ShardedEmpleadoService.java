@@ -0,0 +1,75 @@
+package com.api.rest.service;
+
+import com.api.rest.exception.ResourseNotFoundException;
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoCambio;
+import com.api.rest.model.EmpleadoFiltro;
+import com.api.rest.model.repository.shard.ShardedEmpleadoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * EmpleadoService sobre los shards de {@link ShardedEmpleadoRepository}; reemplaza a EmpleadoServiceImpl
+ * cuando app.sharding.enabled=true.
+ **/
+@Service
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardedEmpleadoService implements EmpleadoService {
+    @Autowired
+    private ShardedEmpleadoRepository shardedEmpleadoRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Empleado saveEmpleado(Empleado empleado) {
+        Empleado empleadoNuevo;
+        try {
+            empleadoNuevo = shardedEmpleadoRepository.insertar(empleado);
+        } catch (DuplicateKeyException e) {
+            throw new ResourseNotFoundException("El empleado con el email que indicaste ya existe" + empleado.getEmail());
+        }
+        eventPublisher.publishEvent(EmpleadoCambio.creado(empleadoNuevo));
+        return empleadoNuevo;
+    }
+
+    @Override
+    public List<Empleado> getAllEmpleado() {
+        return buscarEmpleados(new EmpleadoFiltro(null, null, null, Sort.unsorted()));
+    }
+
+    @Override
+    public List<Empleado> buscarEmpleados(EmpleadoFiltro filtro) {
+        return shardedEmpleadoRepository.buscar(filtro, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Optional<Empleado> getEmpleadoById(Long id) {
+        return shardedEmpleadoRepository.findById(id);
+    }
+
+    @Override
+    public Empleado updateEmpleado(Empleado empleadoActualizado) {
+        Empleado empleado;
+        try {
+            empleado = shardedEmpleadoRepository.actualizar(empleadoActualizado);
+        } catch (DuplicateKeyException e) {
+            throw new ResourseNotFoundException("El empleado con el email que indicaste ya existe" + empleadoActualizado.getEmail());
+        }
+        eventPublisher.publishEvent(EmpleadoCambio.actualizado(empleado));
+        return empleado;
+    }
+
+    @Override
+    public void deleteEmpleado(Long id) {
+        if (shardedEmpleadoRepository.deleteById(id)) {
+            eventPublisher.publishEvent(EmpleadoCambio.eliminado(id));
+        }
+    }
+}
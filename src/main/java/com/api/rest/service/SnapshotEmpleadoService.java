@@ -0,0 +1,61 @@
+package com.api.rest.service;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoFiltro;
+import com.api.rest.snapshot.EmpleadoSnapshot;
+import com.api.rest.snapshot.EmpleadoSnapshotEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Con app.snapshot.enabled=true resuelve las lecturas desde la foto en memoria, sin transaccion ni consulta a la
+ * base, y delega las escrituras en EmpleadoServiceImpl. Mientras la foto no este cargada lee de la base.
+ * Devuelve copias de Empleado porque quien llama puede modificarlas (ver actualizarEmpleado en el controller).
+ **/
+@Service
+@Primary
+@ConditionalOnExpression("${app.snapshot.enabled:false} and !${app.sharding.enabled:false}")
+public class SnapshotEmpleadoService implements EmpleadoService {
+    @Autowired
+    private EmpleadoServiceImpl empleadoServiceImpl;
+    @Autowired
+    private EmpleadoSnapshotEngine empleadoSnapshotEngine;
+
+    @Override
+    public Empleado saveEmpleado(Empleado empleado) {
+        return empleadoServiceImpl.saveEmpleado(empleado);
+    }
+
+    @Override
+    public List<Empleado> getAllEmpleado() {
+        EmpleadoSnapshot foto = empleadoSnapshotEngine.actual();
+        return foto == null ? empleadoServiceImpl.getAllEmpleado() : foto.todos();
+    }
+
+    @Override
+    public List<Empleado> buscarEmpleados(EmpleadoFiltro filtro) {
+        EmpleadoSnapshot foto = empleadoSnapshotEngine.actual();
+        return foto == null ? empleadoServiceImpl.buscarEmpleados(filtro) : foto.filtrar(filtro);
+    }
+
+    @Override
+    public Optional<Empleado> getEmpleadoById(Long id) {
+        EmpleadoSnapshot foto = empleadoSnapshotEngine.actual();
+        return foto == null ? empleadoServiceImpl.getEmpleadoById(id) : Optional.ofNullable(foto.buscar(id));
+    }
+
+    @Override
+    public Empleado updateEmpleado(Empleado empleadoActualizado) {
+        return empleadoServiceImpl.updateEmpleado(empleadoActualizado);
+    }
+
+    @Override
+    public void deleteEmpleado(Long id) {
+        empleadoServiceImpl.deleteEmpleado(id);
+    }
+}
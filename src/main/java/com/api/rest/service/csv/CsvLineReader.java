@@ -0,0 +1,150 @@
+package com.api.rest.service.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lector de lineas CSV que recorre el origen por bloques de bytes, sin cargar el archivo completo en memoria.
+ * Funciona igual sobre el stream de la peticion HTTP o sobre un archivo local mapeado en memoria por ventanas.
+ **/
+public class CsvLineReader implements AutoCloseable {
+
+    private static final int TAMANO_BLOQUE = 64 * 1024;
+    private static final long TAMANO_VENTANA_MMAP = 64L * 1024 * 1024;
+
+    private final Origen origen;
+    private ByteBuffer actual;
+    private byte[] linea = new byte[256];
+    private int longitud;
+    private long numeroLinea;
+
+    private CsvLineReader(Origen origen) {
+        this.origen = origen;
+    }
+
+    public static CsvLineReader of(InputStream inputStream) {
+        byte[] bloque = new byte[TAMANO_BLOQUE];
+        return new CsvLineReader(new Origen() {
+            @Override
+            public ByteBuffer siguiente() throws IOException {
+                int leidos = inputStream.read(bloque);
+                return leidos < 0 ? null : ByteBuffer.wrap(bloque, 0, leidos);
+            }
+
+            @Override
+            public void close() throws IOException {
+                inputStream.close();
+            }
+        });
+    }
+
+    public static CsvLineReader mapped(Path archivo) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        long tamano = canal.size();
+        return new CsvLineReader(new Origen() {
+            private long posicion;
+
+            @Override
+            public ByteBuffer siguiente() throws IOException {
+                if (posicion >= tamano) {
+                    return null;
+                }
+                long ventana = Math.min(TAMANO_VENTANA_MMAP, tamano - posicion);
+                ByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, posicion, ventana);
+                posicion += ventana;
+                return buffer;
+            }
+
+            @Override
+            public void close() throws IOException {
+                canal.close();
+            }
+        });
+    }
+
+    /**
+     * Devuelve la siguiente linea sin el salto de linea, o null al terminar el origen.
+     **/
+    public String readLine() throws IOException {
+        longitud = 0;
+        while (true) {
+            if (actual == null || !actual.hasRemaining()) {
+                actual = origen.siguiente();
+                if (actual == null) {
+                    return longitud > 0 ? decodificar() : null;
+                }
+            }
+            while (actual.hasRemaining()) {
+                byte b = actual.get();
+                if (b == '\n') {
+                    return decodificar();
+                }
+                if (longitud == linea.length) {
+                    linea = Arrays.copyOf(linea, linea.length * 2);
+                }
+                linea[longitud++] = b;
+            }
+        }
+    }
+
+    public long getNumeroLinea() {
+        return numeroLinea;
+    }
+
+    private String decodificar() {
+        numeroLinea++;
+        int fin = longitud > 0 && linea[longitud - 1] == '\r' ? longitud - 1 : longitud;
+        return new String(linea, 0, fin, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Separa una linea en campos; admite campos entre comillas dobles con "" como escape.
+     **/
+    public static List<String> split(String linea) {
+        List<String> campos = new ArrayList<>(3);
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        origen.close();
+    }
+
+    private interface Origen extends AutoCloseable {
+        ByteBuffer siguiente() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+}
@@ -0,0 +1,79 @@
+package com.api.rest.snapshot;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Diccionario inmutable de strings: cada valor distinto se guarda una sola vez y las filas referencian su codigo.
+ * Guarda ademas el rango alfabetico de cada codigo para ordenar filas comparando enteros. Solo se construye al
+ * cargar o compactar la foto, asi que contiene exactamente los valores en uso.
+ **/
+final class Diccionario {
+
+    private final String[] valores;
+    private final Map<String, Integer> codigos;
+    private final int[] rangos;
+
+    private Diccionario(String[] valores, Map<String, Integer> codigos) {
+        this.valores = valores;
+        this.codigos = codigos;
+        this.rangos = rangosAlfabeticos(valores);
+    }
+
+    static Diccionario de(Map<String, Integer> codigos) {
+        String[] valores = new String[codigos.size()];
+        codigos.forEach((valor, codigo) -> valores[codigo] = valor);
+        return new Diccionario(valores, codigos);
+    }
+
+    /**
+     * Rango alfabetico de cada posicion; valores iguales comparten el rango de la primera aparicion en orden.
+     * Ordena una copia del String[] y busca cada valor, sin cajas Integer ni comparador.
+     **/
+    static int[] rangosAlfabeticos(String[] valores) {
+        String[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        int[] rangos = new int[valores.length];
+        for (int i = 0; i < valores.length; i++) {
+            int rango = Arrays.binarySearch(ordenados, valores[i]);
+            while (rango > 0 && ordenados[rango - 1].equals(valores[i])) {
+                rango--;
+            }
+            rangos[i] = rango;
+        }
+        return rangos;
+    }
+
+    int codigo(String valor) {
+        Integer codigo = codigos.get(valor);
+        return codigo == null ? -1 : codigo;
+    }
+
+    String valor(int codigo) {
+        return codigo < 0 ? null : valores[codigo];
+    }
+
+    int rango(int codigo) {
+        return codigo < 0 ? -1 : rangos[codigo];
+    }
+
+    int size() {
+        return valores.length;
+    }
+
+    boolean[] empiezanPor(String prefijo) {
+        boolean[] coincide = new boolean[valores.length];
+        for (int i = 0; i < valores.length; i++) {
+            coincide[i] = valores[i].startsWith(prefijo);
+        }
+        return coincide;
+    }
+
+    long bytesEstimados() {
+        long bytes = 16L + 4L * valores.length + 4L * rangos.length + 48L * codigos.size();
+        for (String valor : valores) {
+            bytes += EmpleadoSnapshot.bytesString(valor);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,414 @@
+package com.api.rest.snapshot;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoCambio;
+import com.api.rest.model.EmpleadoFiltro;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Foto inmutable de todos los empleados en formato columnar: ids ordenados en un long[] para busqueda binaria,
+ * nombre/apellido/dominio del email como codigos de diccionario y el email completo como String.
+ * Los cambios no copian las columnas: se acumulan en un mapa superpuesto id -> empleado (null si se elimino) que se
+ * copia en cada cambio y se compacta en columnas nuevas cuando supera la raiz cuadrada de las filas. Cada cambio
+ * produce una foto nueva (copy-on-write); los lectores nunca ven una foto a medio modificar.
+ **/
+public final class EmpleadoSnapshot {
+
+    private static final int MIN_SUPERPUESTOS = 64;
+
+    private final long version;
+    private final long[] ids;
+    private final int[] nombres;
+    private final int[] apellidos;
+    private final int[] dominios;
+    private final String[] emails;
+    private final Diccionario diccionarioNombres;
+    private final Diccionario diccionarioApellidos;
+    private final Diccionario diccionarioDominios;
+    private final Map<Long, Empleado> superpuestos;
+    private final int filas;
+    private volatile int[] ordenPorEmail;
+
+    private EmpleadoSnapshot(long version, long[] ids, int[] nombres, int[] apellidos, int[] dominios, String[] emails,
+                             Diccionario diccionarioNombres, Diccionario diccionarioApellidos, Diccionario diccionarioDominios,
+                             Map<Long, Empleado> superpuestos) {
+        this.version = version;
+        this.ids = ids;
+        this.nombres = nombres;
+        this.apellidos = apellidos;
+        this.dominios = dominios;
+        this.emails = emails;
+        this.diccionarioNombres = diccionarioNombres;
+        this.diccionarioApellidos = diccionarioApellidos;
+        this.diccionarioDominios = diccionarioDominios;
+        this.superpuestos = superpuestos;
+        int cantidad = ids.length;
+        for (Map.Entry<Long, Empleado> entrada : superpuestos.entrySet()) {
+            boolean enColumnas = Arrays.binarySearch(ids, entrada.getKey()) >= 0;
+            if (enColumnas && entrada.getValue() == null) {
+                cantidad--;
+            } else if (!enColumnas) {
+                cantidad++;
+            }
+        }
+        this.filas = cantidad;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return filas;
+    }
+
+    /**
+     * Fila en las columnas (negativa si no esta), sin mirar los cambios superpuestos; ver {@link #compactar()}.
+     **/
+    int fila(long id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    long id(int fila) {
+        return ids[fila];
+    }
+
+    public Empleado buscar(long id) {
+        if (superpuestos.containsKey(id)) {
+            Empleado empleado = superpuestos.get(id);
+            return empleado == null ? null : copia(empleado);
+        }
+        int fila = Arrays.binarySearch(ids, id);
+        return fila < 0 ? null : materializar(fila);
+    }
+
+    public List<Empleado> todos() {
+        List<Empleado> empleados = new ArrayList<>(filas);
+        recorrer((id, nombre, apellido, email) -> empleados.add(Empleado.builder()
+                .id(id).nombre(nombre).apellido(apellido).email(email).emailDominio(Empleado.dominioDe(email)).build()));
+        return empleados;
+    }
+
+    /**
+     * Mismos filtros que EmpleadoSpecifications: prefijo de nombre y apellido, igualdad de dominio. Los prefijos se
+     * evaluan una vez por entrada del diccionario y luego se recorren solo enteros; los cambios superpuestos se
+     * filtran aparte y se mezclan en el mismo orden.
+     **/
+    public List<Empleado> filtrar(EmpleadoFiltro filtro) {
+        boolean[] nombresValidos = filtro.nombre() == null ? null : diccionarioNombres.empiezanPor(filtro.nombre());
+        boolean[] apellidosValidos = filtro.apellido() == null ? null : diccionarioApellidos.empiezanPor(filtro.apellido());
+        int dominio = filtro.dominio() == null ? -1 : diccionarioDominios.codigo(filtro.dominio().toLowerCase());
+        boolean hayDominio = filtro.dominio() == null || dominio >= 0;
+        boolean haySuperpuestos = !superpuestos.isEmpty();
+        int[] filasValidas = new int[hayDominio ? ids.length : 0];
+        int cantidad = 0;
+        for (int fila = 0; fila < filasValidas.length; fila++) {
+            if ((nombresValidos == null || nombresValidos[nombres[fila]])
+                    && (apellidosValidos == null || apellidosValidos[apellidos[fila]])
+                    && (filtro.dominio() == null || dominios[fila] == dominio)
+                    && (!haySuperpuestos || !superpuestos.containsKey(ids[fila]))) {
+                filasValidas[cantidad++] = fila;
+            }
+        }
+        filasValidas = ordenar(Arrays.copyOf(filasValidas, cantidad), filtro.orden());
+        List<Empleado> empleados = new ArrayList<>(filasValidas.length);
+        for (int fila : filasValidas) {
+            empleados.add(materializar(fila));
+        }
+        if (!haySuperpuestos) {
+            return empleados;
+        }
+        Comparator<Empleado> comparador = comparador(filtro.orden());
+        List<Empleado> extra = new ArrayList<>();
+        for (Empleado empleado : superpuestos.values()) {
+            if (empleado != null && coincide(empleado, filtro)) {
+                extra.add(copia(empleado));
+            }
+        }
+        extra.sort(comparador);
+        return mezclar(empleados, extra, comparador);
+    }
+
+    /**
+     * Aplica un cambio y devuelve la foto siguiente. Es idempotente: crear o actualizar reemplaza por id y eliminar
+     * un id inexistente no hace nada.
+     **/
+    public EmpleadoSnapshot aplicar(EmpleadoCambio cambio) {
+        return switch (cambio.tipo()) {
+            case CREADO, ACTUALIZADO -> aplicar(List.of(cambio.empleado()), List.of());
+            case ELIMINADO -> aplicar(List.of(), List.of(cambio.id()));
+            default -> this;
+        };
+    }
+
+    /**
+     * Aplica un lote de cambios en una sola foto nueva: primero los guardados (reemplazo por id), despues los
+     * eliminados. Compacta si los cambios superpuestos pasan la raiz cuadrada de las filas.
+     **/
+    public EmpleadoSnapshot aplicar(Collection<Empleado> guardados, Collection<Long> eliminados) {
+        if (guardados.isEmpty() && eliminados.isEmpty()) {
+            return this;
+        }
+        Map<Long, Empleado> nuevos = new HashMap<>(superpuestos);
+        for (Empleado empleado : guardados) {
+            nuevos.put(empleado.getId(), copia(empleado));
+        }
+        for (Long id : eliminados) {
+            if (Arrays.binarySearch(ids, id) >= 0) {
+                nuevos.put(id, null);
+            } else {
+                nuevos.remove(id);
+            }
+        }
+        EmpleadoSnapshot siguiente = new EmpleadoSnapshot(version + 1, ids, nombres, apellidos, dominios, emails,
+                diccionarioNombres, diccionarioApellidos, diccionarioDominios, Collections.unmodifiableMap(nuevos));
+        return nuevos.size() > Math.max(MIN_SUPERPUESTOS, (int) Math.sqrt(ids.length)) ? siguiente.compactar() : siguiente;
+    }
+
+    /**
+     * Misma foto (y misma version) con los cambios superpuestos volcados en columnas y diccionarios nuevos, que solo
+     * contienen los valores en uso.
+     **/
+    public EmpleadoSnapshot compactar() {
+        if (superpuestos.isEmpty()) {
+            return this;
+        }
+        Builder builder = builder();
+        recorrer(builder::agregar);
+        return builder.build(version);
+    }
+
+    public MemoriaReporte memoria() {
+        long bytesEmails = 16L + 4L * emails.length;
+        for (String email : emails) {
+            bytesEmails += bytesString(email);
+        }
+        long bytesSuperpuestos = 48L * superpuestos.size();
+        for (Empleado empleado : superpuestos.values()) {
+            if (empleado != null) {
+                bytesSuperpuestos += 48L + bytesString(empleado.getNombre()) + bytesString(empleado.getApellido())
+                        + bytesString(empleado.getEmail());
+            }
+        }
+        Map<String, Long> columnas = new LinkedHashMap<>();
+        columnas.put("ids", 16L + 8L * ids.length);
+        columnas.put("nombres", 16L + 4L * nombres.length);
+        columnas.put("apellidos", 16L + 4L * apellidos.length);
+        columnas.put("dominios", 16L + 4L * dominios.length);
+        columnas.put("emails", bytesEmails);
+        columnas.put("diccionarioNombres", diccionarioNombres.bytesEstimados());
+        columnas.put("diccionarioApellidos", diccionarioApellidos.bytesEstimados());
+        columnas.put("diccionarioDominios", diccionarioDominios.bytesEstimados());
+        columnas.put("superpuestos", bytesSuperpuestos);
+        long total = columnas.values().stream().mapToLong(Long::longValue).sum();
+        return new MemoriaReporte(version, filas, diccionarioNombres.size(), diccionarioApellidos.size(),
+                diccionarioDominios.size(), superpuestos.size(), columnas, total);
+    }
+
+    public record MemoriaReporte(long version, int filas, int nombresDistintos, int apellidosDistintos,
+                                 int dominiosDistintos, int cambiosSuperpuestos, Map<String, Long> bytesPorColumna,
+                                 long bytesTotales) {
+    }
+
+    static long bytesString(String valor) {
+        // cabecera del String + cabecera del byte[] + contenido en Latin-1 (aproximado)
+        return valor == null ? 0 : 24L + 16L + valor.length();
+    }
+
+    private interface Visitante {
+        void visitar(long id, String nombre, String apellido, String email);
+    }
+
+    /**
+     * Recorre todas las filas vigentes en orden de id, mezclando las columnas con los cambios superpuestos.
+     **/
+    private void recorrer(Visitante visitante) {
+        List<Empleado> guardados = new ArrayList<>(superpuestos.size());
+        for (Empleado empleado : superpuestos.values()) {
+            if (empleado != null) {
+                guardados.add(empleado);
+            }
+        }
+        guardados.sort(Comparator.comparing(Empleado::getId));
+        int siguiente = 0;
+        for (int fila = 0; fila < ids.length; fila++) {
+            while (siguiente < guardados.size() && guardados.get(siguiente).getId() < ids[fila]) {
+                visitar(visitante, guardados.get(siguiente++));
+            }
+            if (!superpuestos.containsKey(ids[fila])) {
+                visitante.visitar(ids[fila], diccionarioNombres.valor(nombres[fila]),
+                        diccionarioApellidos.valor(apellidos[fila]), emails[fila]);
+            }
+        }
+        while (siguiente < guardados.size()) {
+            visitar(visitante, guardados.get(siguiente++));
+        }
+    }
+
+    private static void visitar(Visitante visitante, Empleado empleado) {
+        visitante.visitar(empleado.getId(), empleado.getNombre(), empleado.getApellido(), empleado.getEmail());
+    }
+
+    private static boolean coincide(Empleado empleado, EmpleadoFiltro filtro) {
+        return (filtro.nombre() == null || empleado.getNombre().startsWith(filtro.nombre()))
+                && (filtro.apellido() == null || empleado.getApellido().startsWith(filtro.apellido()))
+                && (filtro.dominio() == null || filtro.dominio().toLowerCase().equals(Empleado.dominioDe(empleado.getEmail())));
+    }
+
+    /**
+     * Mismo orden que {@link #ordenar}: el primer campo del Sort y, a igualdad, id ascendente.
+     **/
+    private static Comparator<Empleado> comparador(Sort orden) {
+        Sort.Order primero = orden.stream().findFirst().orElse(null);
+        if (primero == null || primero.getProperty().equals("id")) {
+            Comparator<Empleado> porId = Comparator.comparing(Empleado::getId);
+            return primero != null && primero.isDescending() ? porId.reversed() : porId;
+        }
+        Function<Empleado, String> campo = switch (primero.getProperty()) {
+            case "nombre" -> Empleado::getNombre;
+            case "apellido" -> Empleado::getApellido;
+            default -> Empleado::getEmail;
+        };
+        Comparator<String> sentido = primero.isDescending() ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        return Comparator.comparing(campo, sentido).thenComparing(Empleado::getId);
+    }
+
+    private static List<Empleado> mezclar(List<Empleado> a, List<Empleado> b, Comparator<Empleado> comparador) {
+        List<Empleado> resultado = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            resultado.add(comparador.compare(a.get(i), b.get(j)) <= 0 ? a.get(i++) : b.get(j++));
+        }
+        resultado.addAll(a.subList(i, a.size()));
+        resultado.addAll(b.subList(j, b.size()));
+        return resultado;
+    }
+
+    private static Empleado copia(Empleado empleado) {
+        return Empleado.builder()
+                .id(empleado.getId())
+                .nombre(empleado.getNombre())
+                .apellido(empleado.getApellido())
+                .email(empleado.getEmail())
+                .emailDominio(Empleado.dominioDe(empleado.getEmail()))
+                .build();
+    }
+
+    private Empleado materializar(int fila) {
+        return Empleado.builder()
+                .id(ids[fila])
+                .nombre(diccionarioNombres.valor(nombres[fila]))
+                .apellido(diccionarioApellidos.valor(apellidos[fila]))
+                .email(emails[fila])
+                .emailDominio(diccionarioDominios.valor(dominios[fila]))
+                .build();
+    }
+
+    private int[] ordenar(int[] filas, Sort orden) {
+        Sort.Order primero = orden.stream().findFirst().orElse(null);
+        if (primero == null || primero.getProperty().equals("id")) {
+            // las filas ya estan en orden de id
+            if (primero != null && primero.isDescending()) {
+                for (int i = 0, j = filas.length - 1; i < j; i++, j--) {
+                    int tmp = filas[i];
+                    filas[i] = filas[j];
+                    filas[j] = tmp;
+                }
+            }
+            return filas;
+        }
+        int[] rangos = switch (primero.getProperty()) {
+            case "nombre" -> rangos(nombres, diccionarioNombres);
+            case "apellido" -> rangos(apellidos, diccionarioApellidos);
+            default -> ordenPorEmail();
+        };
+        // clave = rango en los 32 bits altos y fila (orden de id) en los bajos: un sort de long[] sin objetos
+        long[] claves = new long[filas.length];
+        for (int i = 0; i < filas.length; i++) {
+            long rango = primero.isDescending() ? Integer.MAX_VALUE - rangos[filas[i]] : rangos[filas[i]];
+            claves[i] = (rango << 32) | filas[i];
+        }
+        Arrays.sort(claves);
+        for (int i = 0; i < claves.length; i++) {
+            filas[i] = (int) claves[i];
+        }
+        return filas;
+    }
+
+    private static int[] rangos(int[] codigos, Diccionario diccionario) {
+        int[] rangos = new int[codigos.length];
+        for (int fila = 0; fila < codigos.length; fila++) {
+            rangos[fila] = diccionario.rango(codigos[fila]);
+        }
+        return rangos;
+    }
+
+    private int[] ordenPorEmail() {
+        int[] rangos = ordenPorEmail;
+        if (rangos == null) {
+            rangos = Diccionario.rangosAlfabeticos(emails);
+            ordenPorEmail = rangos;
+        }
+        return rangos;
+    }
+
+    /**
+     * Construye una foto completa; las filas deben agregarse en orden creciente de id.
+     **/
+    public static final class Builder {
+        private long[] ids = new long[1024];
+        private int[] nombres = new int[1024];
+        private int[] apellidos = new int[1024];
+        private int[] dominios = new int[1024];
+        private String[] emails = new String[1024];
+        private final Map<String, Integer> codigosNombres = new HashMap<>();
+        private final Map<String, Integer> codigosApellidos = new HashMap<>();
+        private final Map<String, Integer> codigosDominios = new HashMap<>();
+        private int filas;
+
+        public Builder agregar(long id, String nombre, String apellido, String email) {
+            if (filas > 0 && id <= ids[filas - 1]) {
+                throw new IllegalArgumentException("Los ids deben agregarse en orden creciente: " + id);
+            }
+            if (filas == ids.length) {
+                int capacidad = filas * 2;
+                ids = Arrays.copyOf(ids, capacidad);
+                nombres = Arrays.copyOf(nombres, capacidad);
+                apellidos = Arrays.copyOf(apellidos, capacidad);
+                dominios = Arrays.copyOf(dominios, capacidad);
+                emails = Arrays.copyOf(emails, capacidad);
+            }
+            String dominio = Empleado.dominioDe(email);
+            ids[filas] = id;
+            nombres[filas] = codigosNombres.computeIfAbsent(nombre, v -> codigosNombres.size());
+            apellidos[filas] = codigosApellidos.computeIfAbsent(apellido, v -> codigosApellidos.size());
+            dominios[filas] = dominio == null ? -1 : codigosDominios.computeIfAbsent(dominio, v -> codigosDominios.size());
+            emails[filas] = email;
+            filas++;
+            return this;
+        }
+
+        public EmpleadoSnapshot build(long version) {
+            return new EmpleadoSnapshot(version, Arrays.copyOf(ids, filas), Arrays.copyOf(nombres, filas),
+                    Arrays.copyOf(apellidos, filas), Arrays.copyOf(dominios, filas), Arrays.copyOf(emails, filas),
+                    Diccionario.de(codigosNombres), Diccionario.de(codigosApellidos), Diccionario.de(codigosDominios),
+                    Map.of());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.api.rest.snapshot;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoCambio;
+import com.api.rest.model.SecuenciasEnCurso;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantiene la foto columnar vigente. Se carga completa al arrancar y despues cada EmpleadoCambio terminado dispara
+ * una puesta al dia: se leen de la base, en orden de secuencia, las filas y lapidas entre la ultima secuencia aplicada
+ * y el limite seguro de SecuenciasEnCurso, y se aplican en una sola foto nueva. Asi el orden en que llegan los eventos
+ * no importa y una transaccion que confirma tarde no deja la foto desfasada. Si ninguna escritura termino desde la
+ * ultima puesta al dia no se consulta la base. Un RESET (por ejemplo tras una importacion) fuerza una recarga completa. Los escritores se serializan entre si, los lectores solo leen la
+ * referencia atomica.
+ * <p>
+ * Con sharding no hay tabla empleados en la base principal, asi que la foto no se activa.
+ **/
+@Component
+@ConditionalOnExpression("${app.snapshot.enabled:false} and !${app.sharding.enabled:false}")
+public class EmpleadoSnapshotEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(EmpleadoSnapshotEngine.class);
+    private static final int MAX_IDS_REPORTADOS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SecuenciasEnCurso secuenciasEnCurso;
+
+    private final AtomicReference<EmpleadoSnapshot> actual = new AtomicReference<>();
+    private final Object escritura = new Object();
+    // ultima secuencia de cambio reflejada en la foto; todo lo anterior ya esta aplicado
+    private long aplicadoHasta;
+    // SecuenciasEnCurso.escriturasTerminadas() en la ultima puesta al dia: una operacion masiva publica un evento por
+    // fila de cada tramo y solo el primero tiene algo que leer
+    private long terminadasVistas = -1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        recargar();
+    }
+
+    /**
+     * Foto vigente, o null mientras no termine la carga inicial.
+     **/
+    public EmpleadoSnapshot actual() {
+        return actual.get();
+    }
+
+    public void recargar() {
+        synchronized (escritura) {
+            // el limite se toma antes de leer: todo lo que esta por debajo ya esta confirmado y entra en la carga
+            long terminadas = secuenciasEnCurso.escriturasTerminadas();
+            long hasta = secuenciasEnCurso.limiteSeguro();
+            EmpleadoSnapshot.Builder builder = EmpleadoSnapshot.builder();
+            jdbcTemplate.query("select id, nombre, apellido, email from empleados order by id",
+                    rs -> {
+                        builder.agregar(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4));
+                    });
+            EmpleadoSnapshot anterior = actual.get();
+            EmpleadoSnapshot nueva = builder.build(anterior == null ? 1 : anterior.getVersion() + 1);
+            actual.set(nueva);
+            aplicadoHasta = hasta - 1;
+            terminadasVistas = terminadas;
+            log.info("Foto de empleados cargada: {} filas, version {}", nueva.size(), nueva.getVersion());
+        }
+    }
+
+    // AFTER_COMPLETION: corre despues de que SecuenciasEnCurso libera la marca de la transaccion que publico
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onCambio(EmpleadoCambio cambio) {
+        if (cambio.tipo() == EmpleadoCambio.Tipo.RESET) {
+            recargar();
+            return;
+        }
+        ponerAlDia();
+    }
+
+    /**
+     * Aplica en una sola foto nueva todos los cambios confirmados desde la ultima puesta al dia.
+     **/
+    public void ponerAlDia() {
+        synchronized (escritura) {
+            EmpleadoSnapshot foto = actual.get();
+            if (foto == null) {
+                return;
+            }
+            // se lee antes del limite: una escritura que termine despues vuelve a cambiarlo y su evento pone al dia
+            long terminadas = secuenciasEnCurso.escriturasTerminadas();
+            if (terminadas == terminadasVistas) {
+                return;
+            }
+            long hasta = secuenciasEnCurso.limiteSeguro();
+            terminadasVistas = terminadas;
+            if (hasta - 1 <= aplicadoHasta) {
+                return;
+            }
+            List<Empleado> guardados = jdbcTemplate.query("select id, nombre, apellido, email from empleados "
+                            + "where secuencia_cambio > ? and secuencia_cambio < ? order by secuencia_cambio",
+                    (rs, fila) -> Empleado.builder().id(rs.getLong(1)).nombre(rs.getString(2)).apellido(rs.getString(3))
+                            .email(rs.getString(4)).build(),
+                    aplicadoHasta, hasta);
+            List<Long> eliminados = jdbcTemplate.queryForList("select empleado_id from empleados_eliminados "
+                    + "where secuencia_cambio > ? and secuencia_cambio < ? order by secuencia_cambio", Long.class, aplicadoHasta, hasta);
+            actual.set(foto.aplicar(guardados, eliminados));
+            aplicadoHasta = hasta - 1;
+        }
+    }
+
+    /**
+     * Compara la foto vigente contra la tabla empleados fila por fila.
+     **/
+    public Verificacion verificar() {
+        EmpleadoSnapshot vigente = actual.get();
+        if (vigente == null) {
+            return new Verificacion(0, 0, 0, 0, List.of(), false);
+        }
+        EmpleadoSnapshot foto = vigente.compactar();
+        boolean[] vistas = new boolean[foto.size()];
+        List<Long> idsConDiferencias = new ArrayList<>();
+        long[] filasDb = new long[1];
+        long[] diferentes = new long[1];
+        jdbcTemplate.query("select id, nombre, apellido, email from empleados order by id", rs -> {
+            filasDb[0]++;
+            long id = rs.getLong(1);
+            int fila = foto.fila(id);
+            Empleado enFoto = fila < 0 ? null : foto.buscar(id);
+            if (fila >= 0) {
+                vistas[fila] = true;
+            }
+            if (enFoto == null
+                    || !Objects.equals(enFoto.getNombre(), rs.getString(2))
+                    || !Objects.equals(enFoto.getApellido(), rs.getString(3))
+                    || !Objects.equals(enFoto.getEmail(), rs.getString(4))) {
+                diferentes[0]++;
+                if (idsConDiferencias.size() < MAX_IDS_REPORTADOS) {
+                    idsConDiferencias.add(id);
+                }
+            }
+        });
+        for (int fila = 0; fila < vistas.length; fila++) {
+            if (!vistas[fila]) {
+                diferentes[0]++;
+                if (idsConDiferencias.size() < MAX_IDS_REPORTADOS) {
+                    idsConDiferencias.add(foto.id(fila));
+                }
+            }
+        }
+        return new Verificacion(foto.getVersion(), filasDb[0], foto.size(), diferentes[0], idsConDiferencias, diferentes[0] == 0);
+    }
+
+    public record Verificacion(long version, long filasDb, long filasSnapshot, long diferencias,
+                               List<Long> idsConDiferencias, boolean consistente) {
+    }
+}
@@ -0,0 +1,20 @@
+-- esquema de empleados para la replica de lectura y para el perfil lazy (sin DDL de Hibernate);
+-- debe seguir las columnas e indices de Empleado y EmpleadoEliminado
+create table if not exists empleados (
+    id bigint generated by default as identity primary key,
+    nombre varchar(255) not null,
+    apellido varchar(255) not null,
+    email varchar(255) not null,
+    email_dominio varchar(255),
+    secuencia_cambio bigint
+);
+create index if not exists idx_empleados_email on empleados (email);
+create index if not exists idx_empleados_secuencia_cambio on empleados (secuencia_cambio);
+create index if not exists idx_empleados_apellido_nombre on empleados (apellido, nombre);
+create index if not exists idx_empleados_nombre_apellido on empleados (nombre, apellido);
+create index if not exists idx_empleados_dominio_apellido on empleados (email_dominio, apellido);
+create table if not exists empleados_eliminados (
+    empleado_id bigint primary key,
+    secuencia_cambio bigint not null
+);
+create index if not exists idx_empleados_eliminados_secuencia on empleados_eliminados (secuencia_cambio);
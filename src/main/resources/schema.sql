@@ -0,0 +1,2 @@
+-- secuencia monotona compartida por empleados y empleados_eliminados para la sincronizacion incremental
+create sequence if not exists empleados_cambio_seq;
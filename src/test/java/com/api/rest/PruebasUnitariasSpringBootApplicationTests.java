@@ -1,13 +1,29 @@
 package com.api.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @SpringBootTest
 class PruebasUnitariasSpringBootApplicationTests {
 
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	private ThreadPoolTaskExecutor applicationTaskExecutor;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void executorPorDefectoNoSeReemplaza() {
+		// los pools propios (import, change feed, bulk) no deben dejar a @Async sin el executor de Boot
+		assertThat(applicationTaskExecutor.getThreadNamePrefix()).isEqualTo("task-");
+		assertThat(applicationTaskExecutor.getCorePoolSize()).isEqualTo(8);
+	}
+
 }
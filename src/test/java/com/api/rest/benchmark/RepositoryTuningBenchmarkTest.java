@@ -0,0 +1,199 @@
+package com.api.rest.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.rest.PruebasUnitariasSpringBootApplication;
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoFiltro;
+import com.api.rest.model.repository.EmpleadoRepository;
+import com.api.rest.model.repository.EmpleadoSpecifications;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Throughput del workload de EmpleadoRepository con el perfil tuning, variando pool, cache de planes de Hibernate
+ * (activada o no y su tamaño maximo), padding de listas IN, fetch size, batch size y cache de sentencias de H2. Cada configuracion arranca su propio
+ * contexto sobre una base H2 nueva.
+ * <p>
+ * El workload mezcla findById (40%), filtro por dominio ordenado (20%), findEmailsExistentes con listas IN de 1 a 40
+ * emails (30%) y updates de 10 empleados en una transaccion (10%).
+ * <p>
+ * mvn -Pbenchmark test -Dtest=RepositoryTuningBenchmarkTest [-Dbenchmark.tuning.ops=20000 -Dbenchmark.tuning.threads=8
+ * -Dbenchmark.tuning.rows=5000 -Dbenchmark.tuning.grid=full]
+ * <p>
+ * Por defecto se cambia un ajuste a la vez sobre los valores por defecto de Spring/Hibernate/H2; con grid=full se
+ * recorre el producto cartesiano (128 configuraciones). Los eventos JFR se desactivan para medir solo el repositorio.
+ **/
+@Tag("benchmark")
+public class RepositoryTuningBenchmarkTest {
+
+    private static final int DOMINIOS = 100;
+
+    private record Ajuste(String nombre, int pool, boolean planCache, int planCacheSize, boolean padding, int fetchSize,
+                          int batchSize, int cacheH2) {
+
+        Ajuste con(String nombre, int pool, boolean planCache, int planCacheSize, boolean padding, int fetchSize, int batchSize,
+                   int cacheH2) {
+            return new Ajuste(nombre, pool, planCache, planCacheSize, padding, fetchSize, batchSize, cacheH2);
+        }
+
+        String[] argumentos() {
+            return new String[]{
+                    "--spring.profiles.active=tuning",
+                    "--spring.datasource.url=jdbc:h2:mem:tuning-" + UUID.randomUUID() + ";QUERY_CACHE_SIZE=" + cacheH2,
+                    "--app.tuning.pool.max-size=" + pool,
+                    "--app.tuning.pool.min-idle=" + pool,
+                    "--app.tuning.hibernate.query-plan-cache=" + planCache,
+                    "--app.tuning.hibernate.query-plan-cache-size=" + planCacheSize,
+                    "--app.tuning.hibernate.in-clause-padding=" + padding,
+                    "--app.tuning.jdbc.fetch-size=" + fetchSize,
+                    "--app.tuning.jdbc.batch-size=" + batchSize,
+                    "--app.jfr.enabled=false",
+                    "--logging.level.root=WARN"
+            };
+        }
+    }
+
+    @DisplayName("Benchmark de throughput del repositorio por configuracion de pool y sentencias")
+    @Test
+    void benchmarkAjustes() throws Exception {
+        int operaciones = Integer.getInteger("benchmark.tuning.ops", 20_000);
+        int hilos = Integer.getInteger("benchmark.tuning.threads", 8);
+        int filas = Integer.getInteger("benchmark.tuning.rows", 5_000);
+
+        boolean jvmEnFrio = true;
+        System.out.printf("%-16s %5s %6s %8s %8s %6s %6s %8s %12s %10s%n",
+                "config", "pool", "plan", "planMax", "padding", "fetch", "batch", "cacheH2", "ops/s", "us/op");
+        for (Ajuste ajuste : ajustes("full".equals(System.getProperty("benchmark.tuning.grid")))) {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PruebasUnitariasSpringBootApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run(ajuste.argumentos())) {
+                EmpleadoRepository repository = context.getBean(EmpleadoRepository.class);
+                TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+                List<Empleado> empleados = sembrar(repository, transactionTemplate, filas);
+
+                // calentamiento; la primera vez con el workload completo para que el JIT no penalice a la primera configuracion
+                ejecutar(repository, transactionTemplate, empleados, hilos, jvmEnFrio ? operaciones : operaciones / 5);
+                jvmEnFrio = false;
+                long inicio = System.nanoTime();
+                ejecutar(repository, transactionTemplate, empleados, hilos, operaciones);
+                double segundos = (System.nanoTime() - inicio) / 1e9;
+                System.out.printf("%-16s %5d %6s %8d %8s %6d %6d %8d %12.0f %10.1f%n", ajuste.nombre(), ajuste.pool(),
+                        ajuste.planCache(), ajuste.planCacheSize(), ajuste.padding(), ajuste.fetchSize(), ajuste.batchSize(), ajuste.cacheH2(),
+                        operaciones / segundos, segundos * 1e6 * hilos / operaciones);
+                assertThat(repository.count()).isEqualTo(filas);
+            }
+        }
+    }
+
+    private static List<Ajuste> ajustes(boolean completo) {
+        // 2048 es el tamaño por defecto de la cache de planes de Hibernate
+        Ajuste base = new Ajuste("defaults", 10, true, 2048, false, 0, 1, 8);
+        List<Ajuste> ajustes = new ArrayList<>();
+        if (completo) {
+            for (int pool : new int[]{2, 10}) {
+                for (boolean planCache : new boolean[]{true, false}) {
+                    for (int planCacheSize : new int[]{2048, 32}) {
+                        for (boolean padding : new boolean[]{false, true}) {
+                            for (int fetchSize : new int[]{0, 100}) {
+                                for (int batchSize : new int[]{1, 50}) {
+                                    for (int cacheH2 : new int[]{8, 64}) {
+                                        ajustes.add(base.con("grid-" + ajustes.size(), pool, planCache, planCacheSize, padding,
+                                                fetchSize, batchSize, cacheH2));
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            return ajustes;
+        }
+        ajustes.add(base);
+        ajustes.add(base.con("pool=2", 2, true, 2048, false, 0, 1, 8));
+        ajustes.add(base.con("pool=32", 32, true, 2048, false, 0, 1, 8));
+        ajustes.add(base.con("sin-plan-cache", 10, false, 2048, false, 0, 1, 8));
+        // con listas IN de 1 a 40 sin padding hay mas formas de consulta que entradas: la cache expulsa planes
+        ajustes.add(base.con("plan-cache=32", 10, true, 32, false, 0, 1, 8));
+        ajustes.add(base.con("plan=32+padding", 10, true, 32, true, 0, 1, 8));
+        ajustes.add(base.con("in-padding", 10, true, 2048, true, 0, 1, 8));
+        ajustes.add(base.con("fetch=100", 10, true, 2048, false, 100, 1, 8));
+        ajustes.add(base.con("batch=50", 10, true, 2048, false, 0, 50, 8));
+        ajustes.add(base.con("cacheH2=64", 10, true, 2048, false, 0, 1, 64));
+        ajustes.add(base.con("perfil-tuning", 10, true, 2048, true, 100, 50, 64));
+        return ajustes;
+    }
+
+    private static List<Empleado> sembrar(EmpleadoRepository repository, TransactionTemplate transactionTemplate, int filas) {
+        List<Empleado> guardados = new ArrayList<>(filas);
+        for (int inicio = 0; inicio < filas; inicio += 500) {
+            List<Empleado> lote = new ArrayList<>();
+            for (int i = inicio; i < Math.min(inicio + 500, filas); i++) {
+                lote.add(Empleado.builder().nombre("n" + i).apellido("a" + i).email("e" + i + "@d" + (i % DOMINIOS) + ".com").build());
+            }
+            guardados.addAll(transactionTemplate.execute(status -> repository.saveAll(lote)));
+        }
+        return guardados;
+    }
+
+    private static void ejecutar(EmpleadoRepository repository, TransactionTemplate transactionTemplate, List<Empleado> empleados,
+                                 int hilos, int operaciones) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                SplittableRandom random = new SplittableRandom(h);
+                int porHilo = operaciones / hilos;
+                tareas.add(pool.submit(() -> {
+                    for (int i = 0; i < porHilo; i++) {
+                        operacion(repository, transactionTemplate, empleados, random);
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void operacion(EmpleadoRepository repository, TransactionTemplate transactionTemplate, List<Empleado> empleados,
+                                  SplittableRandom random) {
+        int tipo = random.nextInt(100);
+        if (tipo < 40) {
+            repository.findById(empleados.get(random.nextInt(empleados.size())).getId());
+        } else if (tipo < 60) {
+            EmpleadoFiltro filtro = new EmpleadoFiltro(null, null, "d" + random.nextInt(DOMINIOS) + ".com", Sort.by("apellido"));
+            repository.findAll(EmpleadoSpecifications.de(filtro), filtro.orden());
+        } else if (tipo < 90) {
+            int cantidad = 1 + random.nextInt(40);
+            List<String> emails = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                emails.add(empleados.get(random.nextInt(empleados.size())).getEmail());
+            }
+            repository.findEmailsExistentes(emails);
+        } else {
+            List<Long> ids = new ArrayList<>(10);
+            for (int i = 0; i < 10; i++) {
+                ids.add(empleados.get(random.nextInt(empleados.size())).getId());
+            }
+            String apellido = "a" + random.nextInt(1000);
+            transactionTemplate.executeWithoutResult(status -> repository.findAllById(ids).forEach(e -> e.setApellido(apellido)));
+        }
+    }
+}
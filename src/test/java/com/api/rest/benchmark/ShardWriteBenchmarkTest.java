@@ -0,0 +1,80 @@
+package com.api.rest.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.repository.shard.ShardedEmpleadoRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Throughput de inserts segun la cantidad de shards, con escritores concurrentes sobre H2 en memoria.
+ * <p>
+ * mvn -Pbenchmark test -Dtest=ShardWriteBenchmarkTest [-Dbenchmark.shard.rows=40000 -Dbenchmark.shard.writers=8]
+ **/
+@Tag("benchmark")
+public class ShardWriteBenchmarkTest {
+
+    @DisplayName("Benchmark de escritura por cantidad de shards")
+    @Test
+    void benchmarkEscrituraPorShards() throws Exception {
+        int filas = Integer.getInteger("benchmark.shard.rows", 40_000);
+        int escritores = Integer.getInteger("benchmark.shard.writers", 8);
+
+        System.out.printf("%-8s %12s %14s%n", "shards", "filas", "filas/s");
+        for (int shards : new int[]{1, 2, 4, 8}) {
+            try (ShardedEmpleadoRepository repository = crear(shards, escritores)) {
+                insertar(repository, escritores, filas / 10); // calentamiento
+                long inicio = System.nanoTime();
+                insertar(repository, escritores, filas);
+                double segundos = (System.nanoTime() - inicio) / 1e9;
+                System.out.printf("%-8d %12d %14.0f%n", shards, filas, filas / segundos);
+                assertThat(repository.count()).isEqualTo(filas + filas / 10);
+            }
+        }
+    }
+
+    private static void insertar(ShardedEmpleadoRepository repository, int escritores, int filas) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(escritores);
+        try {
+            String lote = UUID.randomUUID().toString();
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int w = 0; w < escritores; w++) {
+                int escritor = w;
+                tareas.add(pool.submit(() -> {
+                    for (int i = escritor; i < filas; i += escritores) {
+                        repository.insertar(Empleado.builder().nombre("n" + i).apellido("a" + i).email(lote + "-" + i + "@correo.com").build());
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static ShardedEmpleadoRepository crear(int shards, int escritores) {
+        String nombre = UUID.randomUUID().toString();
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:mem:" + nombre + "-" + i + ";DB_CLOSE_DELAY=-1");
+            config.setMaximumPoolSize(escritores);
+            dataSources.add(new HikariDataSource(config));
+        }
+        return new ShardedEmpleadoRepository(dataSources, Executors.newFixedThreadPool(shards));
+    }
+}
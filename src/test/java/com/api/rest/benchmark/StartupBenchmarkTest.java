@@ -0,0 +1,115 @@
+package com.api.rest.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mide el tiempo desde que se lanza la JVM hasta el primer GET /api/empleados exitoso, para cada modo de arranque.
+ * <p>
+ * Requiere el jar empaquetado con el perfil cds: mvn -Pcds package -DskipTests && mvn -Pbenchmark test -Dtest=StartupBenchmarkTest
+ * <p>
+ * Las repeticiones se controlan con -Dbenchmark.startup.runs (por defecto 3) y se reporta la mediana en milisegundos.
+ **/
+@Tag("benchmark")
+public class StartupBenchmarkTest {
+
+    private static final Path TARGET = Path.of("target");
+    private static final Path JAR = TARGET.resolve("pruebas-unitarias-spring-boot-0.0.1-SNAPSHOT.jar");
+    private static final Path CDS_ARCHIVE = TARGET.resolve("app-cds.jsa");
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @DisplayName("Benchmark de arranque hasta el primer GET exitoso")
+    @Test
+    void benchmarkArranque() throws Exception {
+        assumeTrue(Files.exists(JAR), "Falta " + JAR + ", ejecuta mvn -Pcds package -DskipTests");
+        int runs = Integer.getInteger("benchmark.startup.runs", 3);
+
+        Map<String, List<String>> modos = new LinkedHashMap<>();
+        modos.put("jit", List.of());
+        modos.put("lazy", List.of("-Dspring.profiles.active=lazy"));
+        if (hayClasesAot()) {
+            modos.put("aot", List.of("-Dspring.aot.enabled=true"));
+            if (Files.exists(CDS_ARCHIVE)) {
+                modos.put("aot+cds", List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE, "-Xlog:cds=off", "-Dspring.aot.enabled=true"));
+            }
+        }
+
+        System.out.printf("%-10s %12s %12s %12s%n", "modo", "mediana(ms)", "min(ms)", "max(ms)");
+        for (Map.Entry<String, List<String>> modo : modos.entrySet()) {
+            long[] tiempos = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                tiempos[i] = medirPrimerGet(modo.getValue());
+            }
+            Arrays.sort(tiempos);
+            System.out.printf("%-10s %12d %12d %12d%n", modo.getKey(), tiempos[runs / 2], tiempos[0], tiempos[runs - 1]);
+            assertThat(tiempos[0]).isPositive();
+        }
+    }
+
+    private long medirPrimerGet(List<String> jvmArgs) throws Exception {
+        int port = puertoLibre();
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(jvmArgs);
+        comando.addAll(List.of("-jar", JAR.toString(), "--server.port=" + port));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/empleados"))
+                .timeout(Duration.ofSeconds(2))
+                .GET()
+                .build();
+
+        long inicio = System.nanoTime();
+        Process proceso = new ProcessBuilder(comando).redirectOutput(ProcessBuilder.Redirect.DISCARD).redirectErrorStream(true).start();
+        try {
+            while (System.nanoTime() - inicio < TIMEOUT.toNanos()) {
+                if (!proceso.isAlive()) {
+                    throw new IllegalStateException("La aplicacion termino con codigo " + proceso.exitValue());
+                }
+                try {
+                    HttpResponse<Void> respuesta = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (respuesta.statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+                    }
+                } catch (IOException e) {
+                    // todavia no acepta conexiones
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Sin respuesta en " + TIMEOUT);
+        } finally {
+            proceso.destroy();
+            proceso.waitFor();
+        }
+    }
+
+    private static boolean hayClasesAot() {
+        return Files.exists(TARGET.resolve("spring-aot"));
+    }
+
+    private static int puertoLibre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.api.rest.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.rest.model.BulkJob;
+import com.api.rest.service.EmpleadoBulkService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(EmpleadoBulkController.class)
+public class EmpleadoBulkControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private EmpleadoBulkService empleadoBulkService;
+
+    @DisplayName("Test eliminar por dominio rechaza dominios vacios o con arroba")
+    @Test
+    void testEliminarPorDominioInvalido() throws Exception {
+        mockMvc.perform(post("/api/empleados/bulk/eliminar-por-dominio").param("dominio", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/empleados/bulk/eliminar-por-dominio").param("dominio", "ana@correo.com"))
+                .andExpect(status().isBadRequest());
+
+        then(empleadoBulkService).should(never()).eliminarPorDominio(anyString());
+    }
+
+    @DisplayName("Test renombrar apellido rechaza ids vacios o nulos y apellido en blanco")
+    @Test
+    void testRenombrarApellidoInvalido() throws Exception {
+        for (String cuerpo : new String[]{"{\"ids\":[],\"apellido\":\"x\"}", "{\"ids\":[1,null],\"apellido\":\"x\"}",
+                "{\"ids\":[1],\"apellido\":\" \"}", "{\"ids\":[1]}"}) {
+            mockMvc.perform(post("/api/empleados/bulk/renombrar-apellido")
+                            .contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+                    .andExpect(status().isBadRequest());
+        }
+
+        then(empleadoBulkService).should(never()).renombrarApellido(any(), anyString());
+    }
+
+    @DisplayName("Test eliminar por dominio valido devuelve 202 con el job")
+    @Test
+    void testEliminarPorDominioAceptado() throws Exception {
+        //given
+        BulkJob job = new BulkJob("eliminar dominio correo.com");
+        given(empleadoBulkService.eliminarPorDominio("correo.com")).willReturn(job);
+        //when / then
+        mockMvc.perform(post("/api/empleados/bulk/eliminar-por-dominio").param("dominio", "correo.com"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(job.getId()));
+    }
+}
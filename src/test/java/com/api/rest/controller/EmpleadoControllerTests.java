@@ -9,12 +9,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoDelta;
+import com.api.rest.model.EmpleadoFiltro;
+import com.api.rest.service.EmpleadoDeltaService;
 import com.api.rest.service.EmpleadoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -42,12 +46,14 @@ import java.util.Optional;
  * <p>
  * En resumen, este código configura una clase de prueba para el `EmpleadoController` y proporciona la infraestructura necesaria para probar el controlador. También crea un objeto simulado de la clase `EmpleadoService` e lo inyecta en el controlador con fines de prueba. La clase `MockMvc` se utiliza para simular solicitudes HTTP y verificar las respuestas, y la clase `ObjectMapper` se utiliza para la serialización y deserialización JSON.
  **/
-@WebMvcTest
+@WebMvcTest({EmpleadoController.class, EmpleadoDeltaController.class})
 public class EmpleadoControllerTests {
     @Autowired
     private MockMvc mockMvc;
     @MockBean
     private EmpleadoService empleadoService;
+    @MockBean
+    private EmpleadoDeltaService empleadoDeltaService;
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -220,9 +226,53 @@ public class EmpleadoControllerTests {
         response.andExpect(status().isOk()).andDo(print());
 
     }
-}
-
 
+    @Test
+    void sincronizarEmpleadosDelta() throws Exception {
+        //given
+        Empleado empleado = Empleado.builder().id(3L).nombre("pedro").apellido("lolo").email("juan@.com").build();
+        given(empleadoDeltaService.getDelta(10L, 1000)).willReturn(new EmpleadoDelta("15", false, List.of(empleado), List.of(2L)));
+        //when
+        ResultActions response = mockMvc.perform(get("/api/empleados/delta").param("since", "10"));
+        //then
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.token").value("15"))
+                .andExpect(jsonPath("$.cambios.size()").value(1))
+                .andExpect(jsonPath("$.eliminados[0]").value(2));
+    }
 
+    @Test
+    void sincronizarEmpleadosTokenInvalido() throws Exception {
+        //when
+        ResultActions response = mockMvc.perform(get("/api/empleados/delta").param("since", "abc"));
+        //then
+        response.andExpect(status().isBadRequest());
+    }
 
+    @Test
+    void listarEmpleadosConFiltros() throws Exception {
+        //given
+        Empleado empleado = Empleado.builder().id(3L).nombre("pedro").apellido("lolo").email("pedro@empresa.com").build();
+        EmpleadoFiltro filtro = new EmpleadoFiltro(null, "lo", "empresa.com", Sort.by(Sort.Direction.DESC, "nombre"));
+        given(empleadoService.buscarEmpleados(filtro)).willReturn(List.of(empleado));
+        //when
+        ResultActions response = mockMvc.perform(get("/api/empleados")
+                .param("apellido", "lo")
+                .param("dominio", "empresa.com")
+                .param("sort", "nombre")
+                .param("dir", "desc"));
+        //then
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()").value(1));
+    }
 
+    @Test
+    void listarEmpleadosOrdenInvalido() throws Exception {
+        //when
+        ResultActions response = mockMvc.perform(get("/api/empleados").param("sort", "secuenciaCambio"));
+        //then
+        response.andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,247 @@
+package com.api.rest.idempotencia;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class IdempotencyFilterTest {
+
+    private IdempotencyStore store;
+    private IdempotencyFilter filter;
+    private AtomicInteger llamadas;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setup() {
+        store = new IdempotencyStore(100, Duration.ofHours(1), Clock.systemUTC());
+        filter = new IdempotencyFilter(store, Duration.ofSeconds(5), 1024);
+        llamadas = new AtomicInteger();
+        chain = (request, response) -> {
+            int n = llamadas.incrementAndGet();
+            String cuerpo = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(201);
+            http.setContentType("application/json");
+            http.getWriter().write("{\"llamada\":" + n + ",\"eco\":" + cuerpo + "}");
+        };
+    }
+
+    private MockHttpServletRequest post(String clave, String cuerpo) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/empleados");
+        request.addHeader(IdempotencyFilter.HEADER, clave);
+        request.setContent(cuerpo.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @DisplayName("Test un reintento con la misma clave reproduce la primera respuesta sin llamar al controller")
+    @Test
+    void testReintentoReproduceRespuesta() throws Exception {
+        //given
+        MockHttpServletResponse primera = new MockHttpServletResponse();
+        filter.doFilter(post("k1", "{\"n\":1}"), primera, chain);
+        //when
+        MockHttpServletResponse reintento = new MockHttpServletResponse();
+        filter.doFilter(post("k1", "{\"n\":1}"), reintento, chain);
+        //then
+        assertThat(llamadas.get()).isEqualTo(1);
+        assertThat(reintento.getStatus()).isEqualTo(201);
+        assertThat(reintento.getContentAsString()).isEqualTo(primera.getContentAsString()).isEqualTo("{\"llamada\":1,\"eco\":{\"n\":1}}");
+        assertThat(reintento.getHeader(IdempotencyFilter.HEADER_REPLAY)).isEqualTo("true");
+    }
+
+    @DisplayName("Test reutilizar la clave con otro cuerpo responde 422")
+    @Test
+    void testClaveConOtroCuerpo() throws Exception {
+        //given
+        filter.doFilter(post("k2", "{\"n\":1}"), new MockHttpServletResponse(), chain);
+        //when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post("k2", "{\"n\":2}"), response, chain);
+        //then
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(llamadas.get()).isEqualTo(1);
+    }
+
+    @DisplayName("Test un cuerpo mayor que el maximo responde 413 sin llamar al controller")
+    @Test
+    void testCuerpoDemasiadoGrande() throws Exception {
+        //given
+        IdempotencyFilter acotado = new IdempotencyFilter(store, Duration.ofSeconds(5), 16);
+        //when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        acotado.doFilter(post("k9", "{\"nombre\":\"demasiado largo\"}"), response, chain);
+        //then
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(llamadas.get()).isZero();
+        assertThat(store.size()).isZero();
+    }
+
+    @DisplayName("Test sin clave, con GET o fuera de las rutas de empleado el filtro no interviene")
+    @Test
+    void testSinClaveNoInterviene() throws Exception {
+        MockHttpServletRequest sinClave = new MockHttpServletRequest("POST", "/api/empleados");
+        filter.doFilter(sinClave, new MockHttpServletResponse(), chain);
+        filter.doFilter(sinClave, new MockHttpServletResponse(), chain);
+        MockHttpServletRequest importacion = new MockHttpServletRequest("POST", "/api/empleados/import");
+        importacion.addHeader(IdempotencyFilter.HEADER, "k3");
+        filter.doFilter(importacion, new MockHttpServletResponse(), chain);
+        filter.doFilter(importacion, new MockHttpServletResponse(), chain);
+
+        assertThat(llamadas.get()).isEqualTo(4);
+        assertThat(store.size()).isZero();
+    }
+
+    @DisplayName("Test los 5xx no se guardan y el reintento vuelve a ejecutar")
+    @Test
+    void testErrorNoSeGuarda() throws Exception {
+        FilterChain falla = (request, response) -> {
+            llamadas.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(500);
+        };
+        filter.doFilter(post("k4", "{}"), new MockHttpServletResponse(), falla);
+        filter.doFilter(post("k4", "{}"), new MockHttpServletResponse(), falla);
+
+        assertThat(llamadas.get()).isEqualTo(2);
+    }
+
+    @DisplayName("Test duplicados concurrentes ejecutan el controller una sola vez")
+    @Test
+    void testDuplicadosConcurrentes() throws Exception {
+        //given
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+        FilterChain lento = (request, response) -> {
+            llamadas.incrementAndGet();
+            dentro.countDown();
+            try {
+                soltar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ((HttpServletResponse) response).setStatus(201);
+            response.getWriter().write("ok");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<MockHttpServletResponse>> respuestas = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                respuestas.add(executor.submit(() -> {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    filter.doFilter(post("k5", "{}"), response, lento);
+                    return response;
+                }));
+            }
+            //when
+            dentro.await();
+            Thread.sleep(100);
+            soltar.countDown();
+            //then
+            for (Future<MockHttpServletResponse> respuesta : respuestas) {
+                assertThat(respuesta.get().getStatus()).isEqualTo(201);
+                assertThat(respuesta.get().getContentAsString()).isEqualTo("ok");
+            }
+            assertThat(llamadas.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @DisplayName("Test tras un 5xx los reintentos concurrentes no ejecutan el controller a la vez")
+    @Test
+    void testReintentosConcurrentesTrasError() throws Exception {
+        //given: por clave, la primera ejecucion responde 500 y no se guarda; el lock por clave se crea y se libera en
+        // cada ronda, que es donde dos reintentos podian acabar con locks distintos
+        AtomicInteger enCurso = new AtomicInteger();
+        AtomicInteger maximoEnCurso = new AtomicInteger();
+        ConcurrentHashMap<String, AtomicInteger> ejecucionesPorClave = new ConcurrentHashMap<>();
+        FilterChain fallaLaPrimera = (request, response) -> {
+            maximoEnCurso.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+            String clave = ((HttpServletRequest) request).getHeader(IdempotencyFilter.HEADER);
+            int n = ejecucionesPorClave.computeIfAbsent(clave, k -> new AtomicInteger()).incrementAndGet();
+            Thread.yield();
+            ((HttpServletResponse) response).setStatus(n == 1 ? 500 : 201);
+            enCurso.decrementAndGet();
+        };
+        int hilos = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            for (int ronda = 0; ronda < 300; ronda++) {
+                String clave = "k7-" + ronda;
+                CountDownLatch salida = new CountDownLatch(1);
+                List<Future<MockHttpServletResponse>> respuestas = new ArrayList<>();
+                for (int i = 0; i < hilos; i++) {
+                    respuestas.add(executor.submit(() -> {
+                        salida.await();
+                        MockHttpServletResponse response = new MockHttpServletResponse();
+                        filter.doFilter(post(clave, "{}"), response, fallaLaPrimera);
+                        return response;
+                    }));
+                }
+                //when
+                salida.countDown();
+                for (Future<MockHttpServletResponse> respuesta : respuestas) {
+                    respuesta.get();
+                }
+                //then: el 500 y un solo reintento ejecutado, el resto reproduce el 201 guardado
+                assertThat(ejecucionesPorClave.get(clave).get()).as("ejecuciones de %s", clave).isEqualTo(2);
+            }
+            assertThat(maximoEnCurso.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @DisplayName("Test el store descarta por TTL y por tamaño")
+    @Test
+    void testStoreTtlYTamano() {
+        AtomicLong ahora = new AtomicLong(0);
+        Clock reloj = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(ahora.get());
+            }
+        };
+        IdempotencyStore acotado = new IdempotencyStore(2, Duration.ofMinutes(1), reloj);
+        acotado.put("a", "h", 201, null, new byte[0]);
+        acotado.put("b", "h", 201, null, new byte[0]);
+        acotado.put("c", "h", 201, null, new byte[0]);
+        assertThat(acotado.get("a")).isNull();
+        assertThat(acotado.get("c")).isNotNull();
+
+        ahora.addAndGet(Duration.ofMinutes(2).toMillis());
+        assertThat(acotado.get("c")).isNull();
+    }
+}
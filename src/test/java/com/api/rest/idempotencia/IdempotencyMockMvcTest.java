@@ -0,0 +1,52 @@
+package com.api.rest.idempotencia;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.rest.model.repository.EmpleadoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * El filtro registrado por IdempotencyConfig delante del controller real y la base H2.
+ **/
+@SpringBootTest
+@AutoConfigureMockMvc
+public class IdempotencyMockMvcTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @DisplayName("Test un POST repetido con la misma clave crea una sola fila y reproduce el 201")
+    @Test
+    void testPostRepetidoCreaUnaFila() throws Exception {
+        //given
+        String cuerpo = "{\"nombre\":\"ana\",\"apellido\":\"lopez\",\"email\":\"ana@idempotencia.com\"}";
+        long antes = empleadoRepository.count();
+        MvcResult primera = mockMvc.perform(post("/api/empleados").header(IdempotencyFilter.HEADER, "alta-ana")
+                        .contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.HEADER_REPLAY))
+                .andReturn();
+        //when
+        MvcResult reintento = mockMvc.perform(post("/api/empleados").header(IdempotencyFilter.HEADER, "alta-ana")
+                        .contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.HEADER_REPLAY, "true"))
+                .andExpect(jsonPath("$.email").value("ana@idempotencia.com"))
+                .andReturn();
+        //then
+        assertThat(empleadoRepository.count()).isEqualTo(antes + 1);
+        assertThat(reintento.getResponse().getContentAsString()).isEqualTo(primera.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,69 @@
+package com.api.rest.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@SpringBootTest(properties = "app.jfr.admin.enabled=true")
+@AutoConfigureMockMvc
+public class EmpleadoJfrTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("Test la grabacion bajo demanda devuelve un .jfr con los eventos de controller y service")
+    @Test
+    void testGrabacionConEventos() throws Exception {
+        //given
+        mockMvc.perform(post("/api/admin/jfr/start").param("duracion", "PT1M")).andExpect(status().isCreated());
+        mockMvc.perform(post("/api/admin/jfr/start")).andExpect(status().isConflict());
+        //when
+        mockMvc.perform(post("/api/empleados").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nombre\":\"ana\",\"apellido\":\"jfr\",\"email\":\"ana@jfr.com\"}")).andExpect(status().isCreated());
+        mockMvc.perform(get("/api/empleados")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/empleados/delta").param("since", "7")).andExpect(status().isOk());
+        byte[] fichero = mockMvc.perform(post("/api/admin/jfr/stop")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        //then
+        Path jfr = Files.createTempFile("empleados-test-", ".jfr");
+        try {
+            Files.write(jfr, fichero);
+            List<RecordedEvent> eventos = RecordingFile.readAllEvents(jfr).stream()
+                    .filter(e -> e.getEventType().getName().startsWith("com.api.rest."))
+                    .toList();
+            RecordedEvent alta = eventos.stream()
+                    .filter(e -> e.getEventType().getName().equals("com.api.rest.EmpleadoController"))
+                    .filter(e -> "EmpleadoController.guardarEmpleado".equals(e.getString("metodo")))
+                    .findFirst().orElseThrow();
+            assertThat(alta.getLong("id")).isPositive();
+            assertThat(alta.getString("emailHash")).hasSize(16);
+            assertThat(alta.getInt("filas")).isEqualTo(1);
+            assertThat(alta.getLong("sentenciasSql")).isPositive();
+            assertThat(eventos).anyMatch(e -> e.getEventType().getName().equals("com.api.rest.EmpleadoService")
+                    && "EmpleadoServiceImpl.getAllEmpleado".equals(e.getString("metodo"))
+                    && e.getInt("filas") >= 1);
+            // el token since es un Long pero no un id de empleado
+            assertThat(eventos).filteredOn(e -> "EmpleadoDeltaServiceImpl.getDelta".equals(e.getString("metodo")))
+                    .isNotEmpty()
+                    .allSatisfy(e -> assertThat(e.getLong("id")).isZero());
+        } finally {
+            Files.deleteIfExists(jfr);
+        }
+        mockMvc.perform(post("/api/admin/jfr/stop")).andExpect(status().isNotFound());
+    }
+}
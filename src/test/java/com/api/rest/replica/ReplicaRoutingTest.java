@@ -0,0 +1,147 @@
+package com.api.rest.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.SecuenciaCambioListener;
+import com.api.rest.model.repository.EmpleadoRepository;
+import com.api.rest.service.EmpleadoService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Con app.replica.enabled=true las lecturas readOnly van a la replica H2 y las escrituras a la primaria.
+ * Para distinguirlas se inserta una fila que solo existe en la replica.
+ **/
+@SpringBootTest(properties = {
+        "app.replica.enabled=true",
+        "app.replica.url=jdbc:h2:mem:replica-test;DB_CLOSE_DELAY=-1",
+        "app.replica.poll-ms=50",
+        "app.replica.max-lag-ms=5000",
+        "spring.datasource.hikari.maximum-pool-size=7"
+})
+public class ReplicaRoutingTest {
+    private static final long ID_SOLO_EN_REPLICA = 999_999L;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+    @Autowired
+    private EmpleadoReplicator empleadoReplicator;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DisplayName("Test la primaria toma la configuracion spring.datasource.hikari")
+    @Test
+    void testConfiguracionHikariPrimaria() {
+        assertThat(primaryDataSource.getMaximumPoolSize()).isEqualTo(7);
+    }
+
+    @DisplayName("Test una transaccion que confirma tarde se replica aunque otras hayan avanzado la secuencia")
+    @Test
+    void testReplicaCommitTardio() throws Exception {
+        //given: una transaccion toma su secuencia y no confirma
+        CountDownLatch guardado = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        AtomicLong idLento = new AtomicLong();
+        Thread lenta = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            idLento.set(empleadoRepository.saveAndFlush(Empleado.builder().nombre("lenta").apellido("tarde")
+                    .email("lenta@replica.com").build()).getId());
+            guardado.countDown();
+            try {
+                confirmar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        lenta.start();
+        assertThat(guardado.await(10, TimeUnit.SECONDS)).isTrue();
+        //when: mientras tanto la secuencia avanza mucho y otra escritura confirma y se replica
+        for (int i = 0; i < 300; i++) {
+            jdbcTemplate.queryForObject("select " + SecuenciaCambioListener.SIGUIENTE_SECUENCIA, Long.class);
+        }
+        Empleado rapida = empleadoService.saveEmpleado(Empleado.builder().nombre("rapida").apellido("antes").email("rapida@replica.com").build());
+        esperarReplicacion();
+        long antesDelCommit = empleadoReplicator.getUltimaSecuencia();
+        confirmar.countDown();
+        lenta.join(10000);
+        esperarReplicacion();
+        //then
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        assertThat(antesDelCommit).isLessThan(rapida.getSecuenciaCambio());
+        assertThat(replica.queryForObject("select count(*) from empleados where id in (?, ?)", Long.class, idLento.get(), rapida.getId()))
+                .isEqualTo(2);
+    }
+
+    @DisplayName("Test lecturas a la replica, escrituras a la primaria y lectura de las propias escrituras")
+    @Test
+    void testRuteoLecturaEscritura() throws Exception {
+        //given
+        new JdbcTemplate(replicaDataSource).update("merge into empleados (id, nombre, apellido, email) key (id) values (?, ?, ?, ?)",
+                ID_SOLO_EN_REPLICA, "solo", "replica", "solo@replica.com");
+        Empleado guardado = empleadoService.saveEmpleado(Empleado.builder().nombre("ana").apellido("lopez").email("ana@replica.com").build());
+        esperarReplicacion();
+        //when / then: la lectura readOnly ve la fila que solo esta en la replica
+        assertThat(empleadoService.getEmpleadoById(ID_SOLO_EN_REPLICA)).isPresent();
+        assertThat(empleadoService.getEmpleadoById(guardado.getId())).isPresent();
+        //when / then: forzando la primaria la fila de la replica no existe
+        ReplicaRoutingContext.forzarPrimaria();
+        try {
+            assertThat(empleadoService.getEmpleadoById(ID_SOLO_EN_REPLICA)).isEmpty();
+            assertThat(empleadoService.getEmpleadoById(guardado.getId())).isPresent();
+        } finally {
+            ReplicaRoutingContext.limpiar();
+        }
+    }
+
+    @DisplayName("Test la replicacion asincrona propaga actualizaciones y borrados")
+    @Test
+    void testReplicacionAsincrona() throws Exception {
+        //given
+        Empleado guardado = empleadoService.saveEmpleado(Empleado.builder().nombre("luis").apellido("diaz").email("luis@replica.com").build());
+        guardado.setApellido("diaz torres");
+        empleadoService.updateEmpleado(guardado);
+        Empleado borrado = empleadoService.saveEmpleado(Empleado.builder().nombre("eva").apellido("paz").email("eva@replica.com").build());
+        empleadoService.deleteEmpleado(borrado.getId());
+        //when
+        esperarReplicacion();
+        //then
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        assertThat(replica.queryForObject("select apellido from empleados where id = ?", String.class, guardado.getId())).isEqualTo("diaz torres");
+        assertThat(replica.queryForObject("select count(*) from empleados where id = ?", Long.class, borrado.getId())).isZero();
+    }
+
+    /**
+     * Espera a que el replicador haya completado una pasada iniciada despues de las escrituras.
+     **/
+    private void esperarReplicacion() throws InterruptedException {
+        long escrituras = System.currentTimeMillis();
+        while (System.currentTimeMillis() - escrituras < 10_000) {
+            long lag = empleadoReplicator.getLagMs();
+            if (lag >= 0 && System.currentTimeMillis() - lag > escrituras) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
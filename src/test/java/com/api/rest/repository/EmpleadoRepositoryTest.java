@@ -4,20 +4,30 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.OPTIONAL;
 
 import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoFiltro;
+import com.api.rest.model.SecuenciasEnCurso;
+import com.api.rest.model.repository.EmpleadoEliminadoRepository;
 import com.api.rest.model.repository.EmpleadoRepository;
+import com.api.rest.model.repository.EmpleadoSpecifications;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Optional;
 
 @DataJpaTest
+@Import(SecuenciasEnCurso.class)
 public class EmpleadoRepositoryTest {
     @Autowired
     private EmpleadoRepository empleadoRepository;
+    @Autowired
+    private EmpleadoEliminadoRepository empleadoEliminadoRepository;
 
     private Empleado empleado;
 
@@ -109,4 +119,39 @@ public class EmpleadoRepositoryTest {
 
     }
 
+    @DisplayName("Test secuencia de cambio en insert, update y delete")
+    @Test
+    public void secuenciaDeCambio() {
+        //given
+        Empleado guardado = empleadoRepository.saveAndFlush(empleado);
+        Long secuenciaInsert = guardado.getSecuenciaCambio();
+        //when
+        guardado.setApellido("otro apellido");
+        empleadoRepository.saveAndFlush(guardado);
+        Long secuenciaUpdate = guardado.getSecuenciaCambio();
+        empleadoRepository.delete(guardado);
+        empleadoRepository.flush();
+        //then
+        assertThat(secuenciaInsert).isNotNull();
+        assertThat(secuenciaUpdate).isGreaterThan(secuenciaInsert);
+        assertThat(empleadoEliminadoRepository.findBySecuenciaCambioGreaterThanAndSecuenciaCambioLessThanOrderBySecuenciaCambio(secuenciaUpdate, Long.MAX_VALUE, PageRequest.of(0, 10)))
+                .singleElement()
+                .satisfies(eliminado -> assertThat(eliminado.getEmpleadoId()).isEqualTo(guardado.getId()));
+    }
+
+    @DisplayName("Test filtrar por apellido y dominio de email ordenando por nombre")
+    @Test
+    public void filtrarEmpleados() {
+        //given
+        empleadoRepository.save(Empleado.builder().nombre("zoe").apellido("lopez").email("zoe@Empresa.com").build());
+        empleadoRepository.save(Empleado.builder().nombre("ana").apellido("lopez torres").email("ana@empresa.com").build());
+        empleadoRepository.save(Empleado.builder().nombre("luis").apellido("lopez").email("luis@otra.com").build());
+        empleadoRepository.save(Empleado.builder().nombre("eva").apellido("diaz").email("eva@empresa.com").build());
+        EmpleadoFiltro filtro = new EmpleadoFiltro(null, "lopez", "empresa.com", Sort.by(Sort.Direction.DESC, "nombre"));
+        //when
+        List<Empleado> empleados = empleadoRepository.findAll(EmpleadoSpecifications.de(filtro), filtro.orden());
+        //then
+        assertThat(empleados).extracting(Empleado::getNombre).containsExactly("zoe", "ana");
+    }
+
 }
@@ -0,0 +1,237 @@
+package com.api.rest.repository.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoFiltro;
+import com.api.rest.model.repository.shard.IdGlobalGenerator;
+import com.api.rest.model.repository.shard.ShardedEmpleadoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Prueba el repositorio con sharding sobre 4 bases H2 en memoria independientes.
+ **/
+public class ShardedEmpleadoRepositoryTest {
+
+    private static final int SHARDS = 4;
+
+    private ShardedEmpleadoRepository repository;
+    private List<JdbcTemplate> shards;
+
+    @BeforeEach
+    void setup() {
+        String prueba = UUID.randomUUID().toString();
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            dataSources.add(new DriverManagerDataSource("jdbc:h2:mem:" + prueba + "-" + i + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        }
+        repository = new ShardedEmpleadoRepository(dataSources, Executors.newFixedThreadPool(SHARDS));
+        shards = dataSources.stream().map(JdbcTemplate::new).toList();
+    }
+
+    @AfterEach
+    void cerrar() throws Exception {
+        repository.close();
+    }
+
+    @DisplayName("Test insertar reparte por hash de email y el id lleva el shard")
+    @Test
+    void testInsertarYBuscarPorId() {
+        //given
+        Set<Integer> shardsUsados = new HashSet<>();
+        List<Empleado> guardados = new ArrayList<>();
+        //when
+        for (int i = 0; i < 40; i++) {
+            Empleado empleado = repository.insertar(Empleado.builder().nombre("n" + i).apellido("a" + i).email("e" + i + "@correo.com").build());
+            guardados.add(empleado);
+            shardsUsados.add(IdGlobalGenerator.shardDe(empleado.getId()));
+        }
+        //then
+        assertThat(shardsUsados).hasSize(SHARDS);
+        assertThat(guardados).extracting(Empleado::getId).doesNotHaveDuplicates();
+        // Number.MAX_SAFE_INTEGER de JavaScript: el id vuelve intacto en un PUT o DELETE
+        assertThat(guardados).extracting(Empleado::getId).allSatisfy(id -> assertThat(id).isBetween(1L, (1L << 53) - 1));
+        for (Empleado empleado : guardados) {
+            assertThat(IdGlobalGenerator.shardDe(empleado.getId())).isEqualTo(repository.shardDeEmail(empleado.getEmail()));
+            assertThat(repository.findById(empleado.getId())).get().extracting(Empleado::getEmail).isEqualTo(empleado.getEmail());
+        }
+        assertThat(repository.count()).isEqualTo(40);
+    }
+
+    @DisplayName("Test el generador agota la secuencia del milisegundo sin repetir ids ni salir de 53 bits")
+    @Test
+    void testIdsEnRangoJavaScript() {
+        //given
+        IdGlobalGenerator generador = new IdGlobalGenerator();
+        Set<Long> ids = new HashSet<>();
+        //when
+        for (int i = 0; i < 2_000; i++) {
+            ids.add(generador.siguiente(IdGlobalGenerator.MAX_SHARDS - 1));
+        }
+        //then
+        assertThat(ids).hasSize(2_000).allSatisfy(id -> {
+            assertThat(id).isLessThanOrEqualTo(IdGlobalGenerator.MAX_ID).isLessThan(1L << 53);
+            assertThat(IdGlobalGenerator.shardDe(id)).isEqualTo(IdGlobalGenerator.MAX_SHARDS - 1);
+        });
+    }
+
+    @DisplayName("Test unicidad de email consultando todos los shards")
+    @Test
+    void testExisteEmail() {
+        //given
+        Empleado empleado = repository.insertar(Empleado.builder().nombre("ana").apellido("lopez").email("ana@correo.com").build());
+        empleado.setEmail("ana.lopez@otro.com");
+        repository.actualizar(empleado);
+        //then: tras cambiar el email la fila sigue en su shard original pero se encuentra igual
+        assertThat(repository.existsByEmail("ana.lopez@otro.com")).isTrue();
+        assertThat(repository.existsByEmail("ana@correo.com")).isFalse();
+    }
+
+    @DisplayName("Test el email es unico sin distinguir mayusculas y la reserva sigue al email al actualizar")
+    @Test
+    void testEmailUnicoNormalizado() {
+        //given
+        Empleado empleado = repository.insertar(Empleado.builder().nombre("ana").apellido("lopez").email("ana@correo.com").build());
+        //when
+        empleado.setEmail("Ana.Lopez@Otro.com");
+        repository.actualizar(empleado);
+        //then
+        assertThatThrownBy(() -> repository.insertar(Empleado.builder().nombre("otra").apellido("ana").email(" ANA.lopez@otro.com").build()))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(repository.existsByEmail("ana.lopez@otro.com")).isTrue();
+        assertThat(repository.insertar(Empleado.builder().nombre("nueva").apellido("ana").email("ANA@correo.com").build()).getId()).isNotNull();
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @DisplayName("Test actualizar a un email ocupado no modifica la fila")
+    @Test
+    void testActualizarEmailOcupado() {
+        //given
+        repository.insertar(Empleado.builder().nombre("ana").apellido("lopez").email("ana@correo.com").build());
+        Empleado otro = repository.insertar(Empleado.builder().nombre("luis").apellido("diaz").email("luis@correo.com").build());
+        //when
+        otro.setEmail("ANA@correo.com");
+        //then
+        assertThatThrownBy(() -> repository.actualizar(otro)).isInstanceOf(DuplicateKeyException.class);
+        assertThat(repository.findById(otro.getId())).get().extracting(Empleado::getEmail).isEqualTo("luis@correo.com");
+        assertThat(repository.existsByEmail("luis@correo.com")).isTrue();
+    }
+
+    @DisplayName("Test pagina ordenada global mezclando los shards")
+    @Test
+    void testPaginaOrdenada() {
+        //given
+        List<Empleado> todos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String apellido = i % 2 == 0 ? "lopez" : "diaz";
+            todos.add(repository.insertar(Empleado.builder().nombre("n" + (i % 7)).apellido(apellido).email("e" + i + "@correo.com").build()));
+        }
+        Comparator<Empleado> orden = Comparator.comparing(Empleado::getNombre).reversed().thenComparing(Empleado::getId);
+        List<Empleado> esperado = todos.stream().filter(e -> e.getApellido().equals("lopez")).sorted(orden).skip(5).limit(10).toList();
+        EmpleadoFiltro filtro = new EmpleadoFiltro(null, "lop", null, Sort.by(Sort.Direction.DESC, "nombre"));
+        //when
+        List<Empleado> pagina = repository.buscar(filtro, 5, 10);
+        //then
+        assertThat(pagina).extracting(Empleado::getId).containsExactlyElementsOf(esperado.stream().map(Empleado::getId).toList());
+    }
+
+    @DisplayName("Test eliminar por id")
+    @Test
+    void testEliminar() {
+        Empleado empleado = repository.insertar(Empleado.builder().nombre("ana").apellido("lopez").email("ana@correo.com").build());
+        assertThat(repository.deleteById(empleado.getId())).isTrue();
+        assertThat(repository.findById(empleado.getId())).isEmpty();
+        assertThat(repository.existsByEmail("ana@correo.com")).isFalse();
+    }
+
+    // reserva de email escrita a mano, como la que deja una liberacion fallida
+    private void reservar(String email, long id, Duration antiguedad) {
+        shards.get(repository.shardDeEmail(email)).update(
+                "insert into empleados_email (email_clave, empleado_id, reservada) values (?, ?, ?)",
+                ShardedEmpleadoRepository.claveEmail(email), id, Timestamp.from(Instant.now().minus(antiguedad)));
+    }
+
+    // email que cae en un shard distinto al indicado
+    private String emailEnOtroShard(int shard, String prefijo) {
+        for (int i = 0; ; i++) {
+            String email = prefijo + i + "@correo.com";
+            if (repository.shardDeEmail(email) != shard) {
+                return email;
+            }
+        }
+    }
+
+    @DisplayName("Test repararEmails borra las reservas viejas sin empleado y respeta las recientes")
+    @Test
+    void testRepararEmails() {
+        //given
+        Empleado ana = repository.insertar(Empleado.builder().nombre("ana").apellido("lopez").email("ana@correo.com").build());
+        reservar("vieja@correo.com", 12345L, Duration.ofHours(2));
+        reservar("reciente@correo.com", 12346L, Duration.ZERO);
+        //when
+        int reparadas = repository.repararEmails();
+        //then
+        assertThat(reparadas).isEqualTo(1);
+        assertThat(repository.existsByEmail("vieja@correo.com")).isFalse();
+        assertThat(repository.existsByEmail("reciente@correo.com")).isTrue();
+        assertThat(repository.existsByEmail(ana.getEmail())).isTrue();
+    }
+
+    @DisplayName("Test insertar con un email reservado sin empleado borra la reserva y guarda")
+    @Test
+    void testInsertarSobreReservaHuerfana() {
+        //given
+        reservar("huerfana@correo.com", 12345L, Duration.ofHours(2));
+        //when
+        Empleado empleado = repository.insertar(Empleado.builder().nombre("ana").apellido("lopez").email("huerfana@correo.com").build());
+        //then
+        assertThat(repository.findById(empleado.getId())).isPresent();
+        assertThatThrownBy(() -> repository.insertar(Empleado.builder().nombre("otra").apellido("ana").email("HUERFANA@correo.com").build()))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @DisplayName("Test cambiar el email a otro shard y borrar libera las claves; una liberacion fallida se repara")
+    @Test
+    void testLiberacionEntreShards() {
+        //given: la fila queda en el shard de su primer email y la clave nueva en otro
+        Empleado empleado = repository.insertar(Empleado.builder().nombre("ana").apellido("lopez").email("ana@correo.com").build());
+        int fila = IdGlobalGenerator.shardDe(empleado.getId());
+        String nuevo = emailEnOtroShard(fila, "ana");
+        empleado.setEmail(nuevo);
+        repository.actualizar(empleado);
+        assertThat(repository.existsByEmail("ana@correo.com")).isFalse();
+        assertThat(repository.existsByEmail(nuevo)).isTrue();
+        //when: la liberacion en el shard de la clave falla despues de borrar la fila
+        JdbcTemplate shardClave = shards.get(repository.shardDeEmail(nuevo));
+        shardClave.execute("alter table empleados_email rename to empleados_email_fuera");
+        boolean borrado = repository.deleteById(empleado.getId());
+        shardClave.execute("alter table empleados_email_fuera rename to empleados_email");
+        //then: el borrado se completa y la clave queda reservada hasta la reparacion
+        assertThat(borrado).isTrue();
+        assertThat(repository.findById(empleado.getId())).isEmpty();
+        assertThat(repository.existsByEmail(nuevo)).isTrue();
+        shardClave.update("update empleados_email set reservada = ?", Timestamp.from(Instant.now().minus(Duration.ofHours(2))));
+        assertThat(repository.repararEmails()).isEqualTo(1);
+        assertThat(repository.existsByEmail(nuevo)).isFalse();
+    }
+}
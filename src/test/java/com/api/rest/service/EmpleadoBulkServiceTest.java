@@ -0,0 +1,146 @@
+package com.api.rest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.rest.model.BulkJob;
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoCambio;
+import com.api.rest.model.EmpleadoDelta;
+import com.api.rest.model.repository.EmpleadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Operaciones masivas contra la base H2 en memoria, con tramos pequeños para forzar varias transacciones.
+ **/
+@SpringBootTest
+@TestPropertySource(properties = "app.bulk.chunk-size=3")
+public class EmpleadoBulkServiceTest {
+    @Autowired
+    private EmpleadoBulkService empleadoBulkService;
+    @Autowired
+    private EmpleadoService empleadoService;
+    @Autowired
+    private EmpleadoDeltaService empleadoDeltaService;
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+    @Autowired
+    private EmpleadoChangeFeed empleadoChangeFeed;
+
+    @BeforeEach
+    void setup() {
+        empleadoRepository.deleteAll();
+    }
+
+    private List<Empleado> crear(int cantidad, String dominio) {
+        List<Empleado> empleados = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            empleados.add(empleadoRepository.save(Empleado.builder().nombre("n" + i).apellido("a" + i)
+                    .email("e" + i + "." + System.nanoTime() + "@" + dominio).build()));
+        }
+        return empleados;
+    }
+
+    // suscriptor del feed que guarda los cambios recibidos; el feed los entrega en otro hilo
+    private EmpleadoChangeFeed.Cliente suscribir(List<EmpleadoCambio> recibidos) {
+        return empleadoChangeFeed.suscribir(new EmpleadoChangeFeed.Suscriptor() {
+            @Override
+            public void enviar(EmpleadoChangeFeed.Evento evento) {
+                recibidos.add(evento.cambio());
+            }
+
+            @Override
+            public void cerrar() {
+            }
+        }, null);
+    }
+
+    private static void esperar(BulkJob job) throws InterruptedException {
+        for (int i = 0; i < 100 && (job.getEstado() == BulkJob.Estado.EN_COLA || job.getEstado() == BulkJob.Estado.EN_CURSO); i++) {
+            Thread.sleep(50);
+        }
+    }
+
+    @DisplayName("Test eliminar por dominio borra por tramos de ids existentes y deja lapidas para el delta")
+    @Test
+    void testEliminarPorDominio() throws Exception {
+        //given
+        crear(4, "borrar.com");
+        List<Empleado> quedan = crear(3, "queda.com");
+        crear(4, "Borrar.com");
+        long token = Long.parseLong(empleadoDeltaService.getDelta(0, 10000).token());
+        List<EmpleadoCambio> recibidos = new CopyOnWriteArrayList<>();
+        EmpleadoChangeFeed.Cliente cliente = suscribir(recibidos);
+        //when
+        BulkJob job = empleadoBulkService.eliminarPorDominio("BORRAR.com");
+        esperar(job);
+        for (int i = 0; i < 100 && recibidos.size() < 8; i++) {
+            Thread.sleep(20);
+        }
+        empleadoChangeFeed.desuscribir(cliente);
+        //then
+        assertThat(job.getEstado()).isEqualTo(BulkJob.Estado.COMPLETADO);
+        assertThat(job.getFilasAfectadas()).isEqualTo(8);
+        // 8 filas en tramos de 3 aunque los ids del dominio abarquen 11: no hay tramos vacios entre medias
+        assertThat(job.getTramosProcesados()).isEqualTo(job.getTramosTotales()).isEqualTo(3);
+        assertThat(job.getProgreso()).isEqualTo(100);
+        assertThat(empleadoRepository.findAll()).extracting(Empleado::getId)
+                .containsExactlyInAnyOrderElementsOf(quedan.stream().map(Empleado::getId).toList());
+        EmpleadoDelta delta = empleadoDeltaService.getDelta(token, 100);
+        assertThat(delta.eliminados()).hasSize(8);
+        // un ELIMINADO por fila, sin RESET que obligue a los clientes a recargar la lista
+        assertThat(recibidos).extracting(EmpleadoCambio::tipo).containsOnly(EmpleadoCambio.Tipo.ELIMINADO);
+        assertThat(recibidos).extracting(EmpleadoCambio::id).containsExactlyInAnyOrderElementsOf(delta.eliminados());
+        assertThat(empleadoBulkService.getJobById(job.getId())).contains(job);
+    }
+
+    @DisplayName("Test renombrar apellido solo toca los ids indicados y avanza la secuencia de cambio")
+    @Test
+    void testRenombrarApellido() throws Exception {
+        //given
+        List<Empleado> empleados = crear(7, "correo.com");
+        List<Long> ids = new ArrayList<>(empleados.stream().limit(5).map(Empleado::getId).toList());
+        ids.add(-1L);
+        long token = Long.parseLong(empleadoDeltaService.getDelta(0, 10000).token());
+        List<EmpleadoCambio> recibidos = new CopyOnWriteArrayList<>();
+        EmpleadoChangeFeed.Cliente cliente = suscribir(recibidos);
+        //when
+        BulkJob job = empleadoBulkService.renombrarApellido(ids, "nuevo");
+        esperar(job);
+        for (int i = 0; i < 100 && recibidos.size() < 5; i++) {
+            Thread.sleep(20);
+        }
+        empleadoChangeFeed.desuscribir(cliente);
+        //then
+        assertThat(job.getEstado()).isEqualTo(BulkJob.Estado.COMPLETADO);
+        assertThat(job.getFilasAfectadas()).isEqualTo(5);
+        assertThat(job.getTramosTotales()).isEqualTo(2);
+        assertThat(empleadoRepository.findAll()).filteredOn(e -> e.getApellido().equals("nuevo")).hasSize(5);
+        assertThat(empleadoDeltaService.getDelta(token, 100).cambios()).extracting(Empleado::getId)
+                .containsExactlyInAnyOrderElementsOf(ids.subList(0, 5));
+        assertThat(recibidos).allSatisfy(cambio -> {
+            assertThat(cambio.tipo()).isEqualTo(EmpleadoCambio.Tipo.ACTUALIZADO);
+            assertThat(cambio.empleado().getApellido()).isEqualTo("nuevo");
+        });
+        assertThat(recibidos).extracting(EmpleadoCambio::id).containsExactlyInAnyOrderElementsOf(ids.subList(0, 5));
+    }
+
+    @DisplayName("Test eliminar un dominio sin empleados completa sin tramos")
+    @Test
+    void testDominioVacio() throws Exception {
+        BulkJob job = empleadoBulkService.eliminarPorDominio("nadie.com");
+        esperar(job);
+
+        assertThat(job.getEstado()).isEqualTo(BulkJob.Estado.COMPLETADO);
+        assertThat(job.getFilasAfectadas()).isZero();
+        assertThat(job.getProgreso()).isEqualTo(100);
+    }
+}
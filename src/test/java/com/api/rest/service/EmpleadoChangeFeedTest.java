@@ -0,0 +1,162 @@
+package com.api.rest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoCambio;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class EmpleadoChangeFeedTest {
+
+    private final List<Runnable> pendientes = new ArrayList<>();
+
+    @DisplayName("Test repartir eventos a los suscriptores")
+    @Test
+    void testRepartirEventos() {
+        //given
+        EmpleadoChangeFeed feed = new EmpleadoChangeFeed(Runnable::run, 8, 4, 5000);
+        SuscriptorDePrueba suscriptor = new SuscriptorDePrueba();
+        feed.suscribir(suscriptor, null);
+        //when
+        feed.publicar(EmpleadoCambio.creado(empleado(1L)));
+        feed.publicar(EmpleadoCambio.eliminado(1L));
+        //then
+        assertThat(suscriptor.eventos).extracting(EmpleadoChangeFeed.Evento::seq).containsExactly(1L, 2L);
+        assertThat(suscriptor.eventos.get(1).cambio().tipo()).isEqualTo(EmpleadoCambio.Tipo.ELIMINADO);
+    }
+
+    @DisplayName("Test reanudar desde Last-Event-ID con el buffer circular")
+    @Test
+    void testReanudarDesdeLastEventId() {
+        //given
+        EmpleadoChangeFeed feed = new EmpleadoChangeFeed(Runnable::run, 8, 4, 5000);
+        for (long id = 1; id <= 5; id++) {
+            feed.publicar(EmpleadoCambio.creado(empleado(id)));
+        }
+        SuscriptorDePrueba suscriptor = new SuscriptorDePrueba();
+        //when
+        feed.suscribir(suscriptor, 3L);
+        //then
+        assertThat(suscriptor.eventos).extracting(EmpleadoChangeFeed.Evento::seq).containsExactly(4L, 5L);
+    }
+
+    @DisplayName("Test enviar RESET cuando el Last-Event-ID ya salio del buffer")
+    @Test
+    void testResetSiSePerdieronEventos() {
+        //given
+        EmpleadoChangeFeed feed = new EmpleadoChangeFeed(Runnable::run, 4, 4, 5000);
+        for (long id = 1; id <= 10; id++) {
+            feed.publicar(EmpleadoCambio.creado(empleado(id)));
+        }
+        SuscriptorDePrueba suscriptor = new SuscriptorDePrueba();
+        //when
+        feed.suscribir(suscriptor, 2L);
+        //then
+        assertThat(suscriptor.eventos).hasSize(1);
+        assertThat(suscriptor.eventos.get(0).seq()).isEqualTo(10L);
+        assertThat(suscriptor.eventos.get(0).cambio().tipo()).isEqualTo(EmpleadoCambio.Tipo.RESET);
+    }
+
+    @DisplayName("Test descartar un suscriptor lento sin bloquear al publicador")
+    @Test
+    void testDescartarSuscriptorLento() {
+        //given: un executor que nunca drena simula un cliente que no consume
+        EmpleadoChangeFeed feed = new EmpleadoChangeFeed(pendientes::add, 16, 2, 5000);
+        SuscriptorDePrueba suscriptor = new SuscriptorDePrueba();
+        feed.suscribir(suscriptor, null);
+        //when
+        for (long id = 1; id <= 3; id++) {
+            feed.publicar(EmpleadoCambio.creado(empleado(id)));
+        }
+        //then: sale del feed al instante y el cierre queda en el executor
+        assertThat(feed.getClientes()).isZero();
+        assertThat(suscriptor.cerrado).isFalse();
+        pendientes.forEach(Runnable::run);
+        assertThat(suscriptor.cerrado).isTrue();
+        assertThat(suscriptor.eventos).isEmpty();
+    }
+
+    @DisplayName("Test un envio bloqueado saca al cliente sin retrasar a los demas")
+    @Test
+    void testEnvioBloqueadoNoFrenaAOtros() throws Exception {
+        //given: cada cliente drena en su propio hilo y el primero nunca termina de enviar
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            EmpleadoChangeFeed feed = new EmpleadoChangeFeed(executor, 16, 16, 50);
+            CountDownLatch soltar = new CountDownLatch(1);
+            CountDownLatch bloqueadoEnviando = new CountDownLatch(1);
+            AtomicBoolean bloqueadoCerrado = new AtomicBoolean();
+            feed.suscribir(new EmpleadoChangeFeed.Suscriptor() {
+                @Override
+                public void enviar(EmpleadoChangeFeed.Evento evento) throws Exception {
+                    bloqueadoEnviando.countDown();
+                    soltar.await();
+                }
+
+                @Override
+                public void cerrar() {
+                    bloqueadoCerrado.set(true);
+                }
+            }, null);
+            List<Long> recibidos = new CopyOnWriteArrayList<>();
+            feed.suscribir(new EmpleadoChangeFeed.Suscriptor() {
+                @Override
+                public void enviar(EmpleadoChangeFeed.Evento evento) {
+                    recibidos.add(evento.seq());
+                }
+
+                @Override
+                public void cerrar() {
+                }
+            }, null);
+            //when
+            feed.publicar(EmpleadoCambio.creado(empleado(1L)));
+            bloqueadoEnviando.await();
+            Thread.sleep(100);
+            feed.publicar(EmpleadoCambio.creado(empleado(2L)));
+            //then: el cliente bloqueado sale del feed y el otro recibe todo
+            for (int i = 0; i < 100 && recibidos.size() < 2; i++) {
+                Thread.sleep(10);
+            }
+            assertThat(recibidos).containsExactly(1L, 2L);
+            assertThat(feed.getClientes()).isEqualTo(1);
+            assertThat(bloqueadoCerrado).isFalse();
+            //when: el envio bloqueado termina y el hilo que drena cierra el suscriptor
+            soltar.countDown();
+            for (int i = 0; i < 100 && !bloqueadoCerrado.get(); i++) {
+                Thread.sleep(10);
+            }
+            assertThat(bloqueadoCerrado).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Empleado empleado(long id) {
+        return Empleado.builder().id(id).nombre("n" + id).apellido("a" + id).email(id + "@correo.com").build();
+    }
+
+    private static class SuscriptorDePrueba implements EmpleadoChangeFeed.Suscriptor {
+        private final List<EmpleadoChangeFeed.Evento> eventos = new ArrayList<>();
+        private boolean cerrado;
+
+        @Override
+        public void enviar(EmpleadoChangeFeed.Evento evento) {
+            eventos.add(evento);
+        }
+
+        @Override
+        public void cerrar() {
+            cerrado = true;
+        }
+    }
+}
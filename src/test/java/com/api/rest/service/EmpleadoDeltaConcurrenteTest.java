@@ -0,0 +1,66 @@
+package com.api.rest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoDelta;
+import com.api.rest.model.repository.EmpleadoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dos transacciones intercaladas: la que toma la secuencia primero confirma ultima.
+ **/
+@SpringBootTest
+public class EmpleadoDeltaConcurrenteTest {
+    @Autowired
+    private EmpleadoService empleadoService;
+    @Autowired
+    private EmpleadoDeltaService empleadoDeltaService;
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DisplayName("Test el token del delta no salta filas de una transaccion que confirma tarde")
+    @Test
+    void testTokenNoSuperaTransaccionEnCurso() throws Exception {
+        //given
+        long token = Long.parseLong(empleadoDeltaService.getDelta(0, 10000).token());
+        CountDownLatch guardado = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        AtomicLong secuenciaLenta = new AtomicLong();
+        Thread lenta = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            Empleado empleado = empleadoRepository.saveAndFlush(Empleado.builder().nombre("lenta").apellido("tarde")
+                    .email("lenta." + System.nanoTime() + "@delta.com").build());
+            secuenciaLenta.set(empleado.getSecuenciaCambio());
+            guardado.countDown();
+            try {
+                confirmar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        lenta.start();
+        assertThat(guardado.await(10, TimeUnit.SECONDS)).isTrue();
+        Empleado rapida = empleadoService.saveEmpleado(Empleado.builder().nombre("rapida").apellido("antes")
+                .email("rapida." + System.nanoTime() + "@delta.com").build());
+        //when
+        EmpleadoDelta mientras = empleadoDeltaService.getDelta(token, 10000);
+        confirmar.countDown();
+        lenta.join(10000);
+        EmpleadoDelta despues = empleadoDeltaService.getDelta(Long.parseLong(mientras.token()), 10000);
+        //then
+        assertThat(rapida.getSecuenciaCambio()).isGreaterThan(secuenciaLenta.get());
+        assertThat(mientras.cambios()).extracting(Empleado::getNombre).doesNotContain("rapida", "lenta");
+        assertThat(Long.parseLong(mientras.token())).isLessThan(secuenciaLenta.get());
+        assertThat(despues.cambios()).extracting(Empleado::getNombre).containsExactly("lenta", "rapida");
+    }
+}
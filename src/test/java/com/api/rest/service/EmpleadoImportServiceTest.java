@@ -0,0 +1,108 @@
+package com.api.rest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.ImportJob;
+import com.api.rest.model.repository.EmpleadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Prueba de integracion de la importacion CSV contra la base H2 en memoria, con chunks pequeños para forzar varios lotes.
+ **/
+@SpringBootTest
+@TestPropertySource(properties = {"app.import.chunk-size=2", "app.import.admin-dir=${java.io.tmpdir}"})
+public class EmpleadoImportServiceTest {
+    @Autowired
+    private EmpleadoImportService empleadoImportService;
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @BeforeEach
+    void setup() {
+        empleadoRepository.deleteAll();
+    }
+
+    @DisplayName("Test importar CSV desde stream con duplicados e invalidos")
+    @Test
+    void testImportarStream() {
+        //given
+        empleadoRepository.save(Empleado.builder().nombre("ya").apellido("existe").email("existe@correo.com").build());
+        String csv = """
+                nombre,apellido,email
+                ana,lopez,ana@correo.com
+                luis,torres,luis@correo.com
+                ana,otra,ana@correo.com
+                sin,email,
+                pepe,perez,existe@correo.com
+                rosa,diaz,rosa@correo.com
+                """;
+        //when
+        ImportJob job = empleadoImportService.importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        //then
+        assertThat(job.getEstado()).isEqualTo(ImportJob.Estado.COMPLETADO);
+        assertThat(job.getFilasLeidas()).isEqualTo(6);
+        assertThat(job.getImportadas()).isEqualTo(3);
+        assertThat(job.getDuplicadas()).isEqualTo(2);
+        assertThat(job.getInvalidas()).isEqualTo(1);
+        assertThat(empleadoRepository.count()).isEqualTo(4);
+        assertThat(empleadoImportService.getJobById(job.getId())).contains(job);
+    }
+
+    @DisplayName("Test importar archivo local mapeado en memoria")
+    @Test
+    void testImportarArchivo() throws Exception {
+        //given
+        Path archivo = Files.createTempFile("empleados", ".csv");
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            csv.append("nombre").append(i).append(",apellido").append(i).append(",e").append(i).append("@correo.com\n");
+        }
+        Files.writeString(archivo, csv);
+        try {
+            //when
+            ImportJob job = empleadoImportService.importarArchivo(archivo.getFileName()).orElseThrow();
+            //then
+            for (int i = 0; i < 100 && job.getEstado() == ImportJob.Estado.EN_CURSO; i++) {
+                Thread.sleep(100);
+            }
+            assertThat(job.getEstado()).isEqualTo(ImportJob.Estado.COMPLETADO);
+            assertThat(job.getImportadas()).isEqualTo(25);
+            assertThat(empleadoRepository.count()).isEqualTo(25);
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @DisplayName("Test rechazar rutas fuera del directorio de administracion")
+    @Test
+    void testRechazarRutaFueraDelDirectorio() {
+        Optional<ImportJob> job = empleadoImportService.importarArchivo(Path.of("../../etc/passwd"));
+        assertThat(job).isEmpty();
+    }
+
+    @DisplayName("Test el registro de jobs descarta los terminados mas antiguos")
+    @Test
+    void testRegistroAcotado() {
+        //given
+        ImportJob primero = empleadoImportService.importar(new ByteArrayInputStream(new byte[0]));
+        //when
+        for (int i = 0; i < 120; i++) {
+            empleadoImportService.importar(new ByteArrayInputStream(new byte[0]));
+        }
+        //then
+        assertThat(empleadoImportService.getAllJobs()).hasSize(100);
+        assertThat(empleadoImportService.getJobById(primero.getId())).isEmpty();
+    }
+}
@@ -9,6 +9,11 @@ import static org.mockito.Mockito.*;
 
 import com.api.rest.exception.ResourseNotFoundException;
 import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoCambio;
+import com.api.rest.model.EmpleadoDelta;
+import com.api.rest.model.EmpleadoEliminado;
+import com.api.rest.model.SecuenciasEnCurso;
+import com.api.rest.model.repository.EmpleadoEliminadoRepository;
 import com.api.rest.model.repository.EmpleadoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +23,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
 import java.util.Collections;
 import java.util.List;
@@ -31,12 +38,24 @@ public class EmpleadoServiceTest {
     @Mock
     private EmpleadoRepository empleadoRepository;
 
+    @Mock
+    private EmpleadoEliminadoRepository empleadoEliminadoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SecuenciasEnCurso secuenciasEnCurso;
+
     /**
      * con esta anotacion me encargo de inyectar dentro del simularo creado con el  @mock, la clase que estamos instanciando
      **/
     @InjectMocks
 
     private EmpleadoServiceImpl empleadoService;
+
+    @InjectMocks
+    private EmpleadoDeltaServiceImpl empleadoDeltaService;
     /**
      * creo una instancia de empleado y la paso por un objeto builder para poder usarla en mis test, ahora bien el beforeEach me ejecuta esta funcion cada vez que ejecuto un test
      **/
@@ -57,6 +76,7 @@ public class EmpleadoServiceTest {
         Empleado empleadoGuardado = empleadoService.saveEmpleado(empleado);
         //then
         assertThat(empleadoGuardado).isNotNull();
+        verify(eventPublisher).publishEvent(any(EmpleadoCambio.class));
 
     }
 
@@ -144,11 +164,45 @@ public class EmpleadoServiceTest {
     void testEliminarEmpleado() {
         //given
         long empleadId = 1L;
-        willDoNothing().given(empleadoRepository).deleteById(empleadId);
+        given(empleadoRepository.findById(empleadId)).willReturn(Optional.of(empleado));
+        willDoNothing().given(empleadoRepository).delete(empleado);
         //when
         empleadoService.deleteEmpleado(empleadId);
         //then
-        verify(empleadoRepository, times(1)).deleteById(empleadId);
+        verify(empleadoRepository, times(1)).delete(empleado);
+        verify(eventPublisher).publishEvent(EmpleadoCambio.eliminado(empleadId));
+    }
+
+    @DisplayName("Test Eliminar Empleado inexistente no publica el cambio")
+    @Test
+    void testEliminarEmpleadoInexistente() {
+        //given
+        given(empleadoRepository.findById(99L)).willReturn(Optional.empty());
+        //when
+        empleadoService.deleteEmpleado(99L);
+        //then
+        verify(empleadoRepository, never()).delete(any(Empleado.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @DisplayName("Test delta mezcla cambios y eliminados por secuencia")
+    @Test
+    void testDeltaEmpleados() {
+        //given
+        Empleado empleadoDos = Empleado.builder().id(2L).nombre("antonella").apellido("fiufiu").email("caramelo@chocolate").secuenciaCambio(12L).build();
+        empleado.setSecuenciaCambio(11L);
+        given(secuenciasEnCurso.limiteSeguro()).willReturn(20L);
+        given(empleadoRepository.findBySecuenciaCambioGreaterThanAndSecuenciaCambioLessThanOrderBySecuenciaCambio(eq(10L), eq(20L), any(Pageable.class)))
+                .willReturn(List.of(empleado, empleadoDos));
+        given(empleadoEliminadoRepository.findBySecuenciaCambioGreaterThanAndSecuenciaCambioLessThanOrderBySecuenciaCambio(eq(10L), eq(20L), any(Pageable.class)))
+                .willReturn(List.of(new EmpleadoEliminado(7L, 13L)));
+        //when
+        EmpleadoDelta delta = empleadoDeltaService.getDelta(10L, 2);
+        //then
+        assertThat(delta.cambios()).containsExactly(empleado, empleadoDos);
+        assertThat(delta.eliminados()).isEmpty();
+        assertThat(delta.token()).isEqualTo("12");
+        assertThat(delta.hayMas()).isTrue();
     }
 
 }
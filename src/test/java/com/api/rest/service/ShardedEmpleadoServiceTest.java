@@ -0,0 +1,58 @@
+package com.api.rest.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.api.rest.exception.ResourseNotFoundException;
+import com.api.rest.model.Empleado;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Verifica que con app.sharding.enabled=true el contexto usa ShardedEmpleadoService en lugar de EmpleadoServiceImpl
+ * y no publica los endpoints que dependen de la base principal. La foto en memoria se pide activada para comprobar
+ * que no se monta sobre los shards.
+ **/
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.count=3",
+        "app.sharding.url-pattern=jdbc:h2:mem:servicio-shard%d;DB_CLOSE_DELAY=-1",
+        "app.snapshot.enabled=true"
+})
+public class ShardedEmpleadoServiceTest {
+    @Autowired
+    private EmpleadoService empleadoService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("Test guardar, leer y rechazar email duplicado con sharding")
+    @Test
+    void testGuardarConSharding() {
+        //given
+        Empleado empleado = Empleado.builder().nombre("ana").apellido("lopez").email("ana@sharding.com").build();
+        //when
+        Empleado guardado = empleadoService.saveEmpleado(empleado);
+        //then
+        assertThat(empleadoService).isInstanceOf(ShardedEmpleadoService.class);
+        assertThat(empleadoService.getEmpleadoById(guardado.getId())).isPresent();
+        assertThat(empleadoService.getAllEmpleado()).extracting(Empleado::getEmail).contains("ana@sharding.com");
+        assertThrows(ResourseNotFoundException.class, () ->
+                empleadoService.saveEmpleado(Empleado.builder().nombre("otra").apellido("ana").email("ANA@sharding.com").build()));
+    }
+
+    @DisplayName("Test delta e importacion no estan disponibles con sharding")
+    @Test
+    void testEndpointsNoDisponibles() throws Exception {
+        mockMvc.perform(get("/api/empleados/delta")).andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/empleados/import").contentType("text/csv").content("nombre,apellido,email\n"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,58 @@
+package com.api.rest.service.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvLineReaderTest {
+
+    @DisplayName("Test leer lineas desde un stream con saltos \\n y \\r\\n")
+    @Test
+    void testLeerLineasStream() throws Exception {
+        //given
+        String csv = "nombre,apellido,email\r\nana,lopez,ana@correo.com\nluis,torres,luis@correo.com";
+        //when
+        List<String> lineas = leer(CsvLineReader.of(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+        //then
+        assertThat(lineas).containsExactly("nombre,apellido,email", "ana,lopez,ana@correo.com", "luis,torres,luis@correo.com");
+    }
+
+    @DisplayName("Test leer lineas desde un archivo mapeado en memoria")
+    @Test
+    void testLeerLineasArchivoMapeado(@TempDir Path directorio) throws Exception {
+        //given
+        Path archivo = directorio.resolve("empleados.csv");
+        Files.writeString(archivo, "josé,pérez,jose@correo.com\n\nmaria,diaz,maria@correo.com\n");
+        //when
+        List<String> lineas = leer(CsvLineReader.mapped(archivo));
+        //then
+        assertThat(lineas).containsExactly("josé,pérez,jose@correo.com", "", "maria,diaz,maria@correo.com");
+    }
+
+    @DisplayName("Test separar campos con comillas")
+    @Test
+    void testSepararCampos() {
+        assertThat(CsvLineReader.split("ana,\"lopez, torres\",ana@correo.com")).containsExactly("ana", "lopez, torres", "ana@correo.com");
+        assertThat(CsvLineReader.split("\"di \"\"tito\"\"\",,x@y")).containsExactly("di \"tito\"", "", "x@y");
+    }
+
+    private static List<String> leer(CsvLineReader reader) throws Exception {
+        List<String> lineas = new ArrayList<>();
+        try (reader) {
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                lineas.add(linea);
+            }
+        }
+        return lineas;
+    }
+}
@@ -0,0 +1,127 @@
+package com.api.rest.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.rest.model.BulkJob;
+import com.api.rest.model.Empleado;
+import com.api.rest.service.EmpleadoBulkService;
+import com.api.rest.service.EmpleadoService;
+import com.api.rest.service.SnapshotEmpleadoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Con app.snapshot.enabled=true las lecturas salen de la foto y la foto sigue a las escrituras del servicio.
+ **/
+@SpringBootTest(properties = "app.snapshot.enabled=true")
+public class EmpleadoSnapshotEngineTest {
+    @Autowired
+    private EmpleadoService empleadoService;
+    @Autowired
+    private EmpleadoSnapshotEngine empleadoSnapshotEngine;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EmpleadoBulkService empleadoBulkService;
+
+    @DisplayName("Test la foto sigue las escrituras y coincide con H2")
+    @Test
+    void testConsistenciaConH2() {
+        //given
+        Empleado ana = empleadoService.saveEmpleado(Empleado.builder().nombre("ana").apellido("lopez").email("ana@foto.com").build());
+        Empleado luis = empleadoService.saveEmpleado(Empleado.builder().nombre("luis").apellido("diaz").email("luis@foto.com").build());
+        ana.setApellido("lopez torres");
+        empleadoService.updateEmpleado(ana);
+        empleadoService.deleteEmpleado(luis.getId());
+        //then
+        assertThat(empleadoService).isInstanceOf(SnapshotEmpleadoService.class);
+        assertThat(empleadoService.getEmpleadoById(ana.getId())).get().extracting(Empleado::getApellido).isEqualTo("lopez torres");
+        assertThat(empleadoService.getEmpleadoById(luis.getId())).isEmpty();
+        assertThat(empleadoSnapshotEngine.verificar().consistente()).isTrue();
+    }
+
+    @DisplayName("Test una transaccion que confirma despues de otra mas nueva no deja la foto desfasada")
+    @Test
+    void testCommitsFueraDeOrden() throws Exception {
+        //given: la transaccion lenta toma su secuencia antes que la rapida y confirma despues
+        CountDownLatch guardado = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        AtomicLong idLento = new AtomicLong();
+        Thread lenta = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            Empleado empleado = empleadoService.saveEmpleado(Empleado.builder().nombre("lenta").apellido("tarde").email("lenta@foto.com").build());
+            idLento.set(empleado.getId());
+            empleado.setApellido("tarde actualizada");
+            empleadoService.updateEmpleado(empleado);
+            guardado.countDown();
+            try {
+                confirmar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        lenta.start();
+        assertThat(guardado.await(10, TimeUnit.SECONDS)).isTrue();
+        Empleado rapida = empleadoService.saveEmpleado(Empleado.builder().nombre("rapida").apellido("antes").email("rapida@foto.com").build());
+        //when
+        confirmar.countDown();
+        lenta.join(10000);
+        //then
+        assertThat(empleadoService.getEmpleadoById(rapida.getId())).isPresent();
+        assertThat(empleadoService.getEmpleadoById(idLento.get())).get().extracting(Empleado::getApellido).isEqualTo("tarde actualizada");
+        assertThat(empleadoSnapshotEngine.verificar().consistente()).isTrue();
+    }
+
+    @DisplayName("Test las operaciones masivas ponen la foto al dia por tramos sin recargarla")
+    @Test
+    void testOperacionesMasivas() throws Exception {
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(empleadoService.saveEmpleado(Empleado.builder().nombre("m" + i).apellido("masiva")
+                    .email("m" + i + "@masiva-" + i % 2 + ".com").build()).getId());
+        }
+        long filasAntes = empleadoSnapshotEngine.actual().size();
+        //when
+        esperar(empleadoBulkService.renombrarApellido(ids, "renombrada"));
+        esperar(empleadoBulkService.eliminarPorDominio("masiva-0.com"));
+        //then
+        assertThat(empleadoService.getEmpleadoById(ids.get(1))).get().extracting(Empleado::getApellido).isEqualTo("renombrada");
+        assertThat(empleadoService.getEmpleadoById(ids.get(0))).isEmpty();
+        assertThat(empleadoSnapshotEngine.actual().size()).isEqualTo(filasAntes - 3);
+        assertThat(empleadoSnapshotEngine.verificar().consistente()).isTrue();
+    }
+
+    private static void esperar(BulkJob job) throws InterruptedException {
+        for (int i = 0; i < 100 && (job.getEstado() == BulkJob.Estado.EN_COLA || job.getEstado() == BulkJob.Estado.EN_CURSO); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(job.getEstado()).isEqualTo(BulkJob.Estado.COMPLETADO);
+    }
+
+    @DisplayName("Test la verificacion detecta escrituras que no pasaron por el servicio")
+    @Test
+    void testVerificacionDetectaDiferencias() {
+        //given
+        empleadoSnapshotEngine.recargar();
+        jdbcTemplate.update("insert into empleados (nombre, apellido, email) values ('fuera', 'de banda', 'fuera@foto.com')");
+        //when
+        EmpleadoSnapshotEngine.Verificacion verificacion = empleadoSnapshotEngine.verificar();
+        //then
+        assertThat(verificacion.consistente()).isFalse();
+        assertThat(verificacion.diferencias()).isEqualTo(1);
+        empleadoSnapshotEngine.recargar();
+        assertThat(empleadoSnapshotEngine.verificar().consistente()).isTrue();
+    }
+}
@@ -0,0 +1,131 @@
+package com.api.rest.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.api.rest.model.Empleado;
+import com.api.rest.model.EmpleadoCambio;
+import com.api.rest.model.EmpleadoFiltro;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public class EmpleadoSnapshotTest {
+
+    private EmpleadoSnapshot snapshot;
+
+    @BeforeEach
+    void setup() {
+        snapshot = EmpleadoSnapshot.builder()
+                .agregar(1L, "zoe", "lopez", "zoe@Empresa.com")
+                .agregar(3L, "ana", "lopez torres", "ana@empresa.com")
+                .agregar(5L, "luis", "lopez", "luis@otra.com")
+                .agregar(7L, "eva", "diaz", "eva@empresa.com")
+                .build(1);
+    }
+
+    @DisplayName("Test buscar por id con busqueda binaria")
+    @Test
+    void testBuscarPorId() {
+        assertThat(snapshot.buscar(5L).getNombre()).isEqualTo("luis");
+        assertThat(snapshot.buscar(4L)).isNull();
+    }
+
+    @DisplayName("Test filtrar por apellido y dominio ordenando por nombre descendente")
+    @Test
+    void testFiltrar() {
+        //given
+        EmpleadoFiltro filtro = new EmpleadoFiltro(null, "lopez", "empresa.com", Sort.by(Sort.Direction.DESC, "nombre"));
+        //when
+        List<Empleado> empleados = snapshot.filtrar(filtro);
+        //then
+        assertThat(empleados).extracting(Empleado::getNombre).containsExactly("zoe", "ana");
+    }
+
+    @DisplayName("Test ordenar por email y por id descendente")
+    @Test
+    void testOrdenar() {
+        assertThat(snapshot.filtrar(new EmpleadoFiltro(null, null, null, Sort.by("email"))))
+                .extracting(Empleado::getId).containsExactly(3L, 7L, 5L, 1L);
+        assertThat(snapshot.filtrar(new EmpleadoFiltro(null, null, null, Sort.by(Sort.Direction.DESC, "id"))))
+                .extracting(Empleado::getId).containsExactly(7L, 5L, 3L, 1L);
+    }
+
+    @DisplayName("Test aplicar cambios genera una foto nueva sin tocar la anterior")
+    @Test
+    void testAplicarCambiosCopyOnWrite() {
+        //when
+        EmpleadoSnapshot nueva = snapshot
+                .aplicar(EmpleadoCambio.creado(Empleado.builder().id(4L).nombre("rosa").apellido("paz").email("rosa@nueva.com").build()))
+                .aplicar(EmpleadoCambio.actualizado(Empleado.builder().id(1L).nombre("zoe").apellido("ruiz").email("zoe@otra.com").build()))
+                .aplicar(EmpleadoCambio.eliminado(7L));
+        //then
+        assertThat(nueva.todos()).extracting(Empleado::getId).containsExactly(1L, 3L, 4L, 5L);
+        assertThat(nueva.buscar(1L).getApellido()).isEqualTo("ruiz");
+        assertThat(nueva.filtrar(new EmpleadoFiltro(null, null, "nueva.com", Sort.unsorted()))).hasSize(1);
+        assertThat(nueva.getVersion()).isEqualTo(4);
+        assertThat(snapshot.todos()).extracting(Empleado::getId).containsExactly(1L, 3L, 5L, 7L);
+        assertThat(snapshot.buscar(1L).getApellido()).isEqualTo("lopez");
+    }
+
+    @DisplayName("Test los cambios superpuestos se mezclan en el orden pedido")
+    @Test
+    void testFiltrarConCambiosSuperpuestos() {
+        //when
+        EmpleadoSnapshot nueva = snapshot.aplicar(List.of(
+                Empleado.builder().id(2L).nombre("bruno").apellido("lopez").email("bruno@empresa.com").build(),
+                Empleado.builder().id(3L).nombre("ana").apellido("lopez").email("ana@empresa.com").build()), List.of(1L));
+        //then
+        assertThat(nueva.memoria().cambiosSuperpuestos()).isEqualTo(3);
+        assertThat(nueva.size()).isEqualTo(4);
+        assertThat(nueva.filtrar(new EmpleadoFiltro(null, "lopez", "empresa.com", Sort.by(Sort.Direction.DESC, "nombre"))))
+                .extracting(Empleado::getId).containsExactly(2L, 3L);
+        assertThat(nueva.filtrar(new EmpleadoFiltro(null, null, null, Sort.by("email"))))
+                .extracting(Empleado::getId).containsExactly(3L, 2L, 7L, 5L);
+        assertThat(nueva.todos()).extracting(Empleado::getId).containsExactly(2L, 3L, 5L, 7L);
+    }
+
+    @DisplayName("Test compactar vuelca los cambios y los diccionarios pierden los valores sin uso")
+    @Test
+    void testCompactar() {
+        //given
+        EmpleadoSnapshot nueva = snapshot.aplicar(EmpleadoCambio.actualizado(
+                Empleado.builder().id(7L).nombre("eva").apellido("lopez").email("eva@otra.com").build()));
+        //when
+        EmpleadoSnapshot compacta = nueva.compactar();
+        //then
+        assertThat(compacta.getVersion()).isEqualTo(nueva.getVersion());
+        assertThat(compacta.memoria().cambiosSuperpuestos()).isZero();
+        assertThat(compacta.memoria().apellidosDistintos()).isEqualTo(2);
+        assertThat(compacta.todos()).usingRecursiveFieldByFieldElementComparator().isEqualTo(nueva.todos());
+    }
+
+    @DisplayName("Test compacta sola cuando los cambios superan el umbral")
+    @Test
+    void testCompactacionAutomatica() {
+        //given
+        EmpleadoSnapshot foto = snapshot;
+        //when
+        for (long id = 100; id < 200; id++) {
+            foto = foto.aplicar(EmpleadoCambio.creado(Empleado.builder().id(id).nombre("n" + id).apellido("a").email(id + "@x.com").build()));
+        }
+        //then
+        assertThat(foto.size()).isEqualTo(104);
+        assertThat(foto.memoria().cambiosSuperpuestos()).isLessThan(100);
+        assertThat(foto.buscar(150L).getNombre()).isEqualTo("n150");
+        assertThat(foto.getVersion()).isEqualTo(101);
+    }
+
+    @DisplayName("Test reporte de memoria por columna")
+    @Test
+    void testMemoria() {
+        EmpleadoSnapshot.MemoriaReporte reporte = snapshot.memoria();
+        assertThat(reporte.filas()).isEqualTo(4);
+        assertThat(reporte.apellidosDistintos()).isEqualTo(3);
+        assertThat(reporte.dominiosDistintos()).isEqualTo(2);
+        assertThat(reporte.bytesPorColumna().get("ids")).isEqualTo(16L + 8L * 4);
+        assertThat(reporte.bytesTotales()).isEqualTo(reporte.bytesPorColumna().values().stream().mapToLong(Long::longValue).sum());
+    }
+}